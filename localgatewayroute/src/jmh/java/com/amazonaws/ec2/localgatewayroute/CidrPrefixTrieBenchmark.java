@@ -0,0 +1,113 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Route table sized CidrPrefixTrie workloads: indexing a whole table, as a snapshot does, and the lookups a create
+ * makes against it. Run with
+ *
+ *   mvn -Pbenchmark verify -DskipTests -Dbenchmark=CidrPrefixTrieBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CidrPrefixTrieBenchmark {
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"10000", "50000"})
+    public int routeCount;
+
+    private String[] cidrs;
+    private String[] queries;
+    private CidrPrefixTrie<String> trie;
+    private Map<String, String> cidrMap;
+    private int nextQuery;
+
+    @Setup
+    public void setup() {
+        cidrs = new String[routeCount];
+        for (int i = 0; i < routeCount; i++) {
+            // Alternate families so both roots are deep
+            cidrs[i] = i % 2 == 0
+                ? "10." + ((i >> 9) & 0xff) + "." + ((i >> 1) & 0xff) + ".0/24"
+                : "2001:db8:" + Integer.toHexString(i >> 1) + "::/64";
+        }
+        queries = new String[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            // A mix of existing routes, prefixes inside them and prefixes that cover several
+            final String cidr = cidrs[(i * 7919) % routeCount];
+            switch (i % 3) {
+                case 0:
+                    queries[i] = cidr;
+                    break;
+                case 1:
+                    queries[i] = cidr.replace("/24", "/28").replace("/64", "/80");
+                    break;
+                default:
+                    queries[i] = cidr.replace("/24", "/20").replace("/64", "/56");
+                    break;
+            }
+        }
+        trie = index();
+        cidrMap = new HashMap<>();
+        for (String cidr : cidrs) {
+            cidrMap.put(cidr, cidr);
+        }
+    }
+
+    @Benchmark
+    public CidrPrefixTrie<String> indexRouteTable() {
+        return index();
+    }
+
+    @Benchmark
+    public String exactMatch() {
+        return trie.exactMatch(nextQuery());
+    }
+
+    // What a HashMap keyed by the CIDR string answers, for comparison with exactMatch
+    @Benchmark
+    public String exactMatchByString() {
+        return cidrMap.get(nextQuery());
+    }
+
+    @Benchmark
+    public String longestPrefixMatch() {
+        return trie.longestPrefixMatch(nextQuery());
+    }
+
+    @Benchmark
+    public boolean overlaps() {
+        return trie.overlaps(nextQuery());
+    }
+
+    private CidrPrefixTrie<String> index() {
+        final CidrPrefixTrie<String> index = new CidrPrefixTrie<>();
+        for (String cidr : cidrs) {
+            index.put(cidr, cidr);
+        }
+        return index;
+    }
+
+    private String nextQuery() {
+        nextQuery = (nextQuery + 1) & (QUERY_COUNT - 1);
+        return queries[nextQuery];
+    }
+}
@@ -0,0 +1,71 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRoute;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteState;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteType;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/*
+ * The per-route work of a List response: translating a page of searched routes into models and wrapping them in the
+ * success event. Run with
+ *
+ *   mvn -Pbenchmark verify -DskipTests -Dbenchmark=TranslatorBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranslatorBenchmark {
+    @Param({"1", "100", "10000"})
+    public int routeCount;
+
+    private List<LocalGatewayRoute> routes;
+
+    @Setup
+    public void setup() {
+        routes = new ArrayList<>(routeCount);
+        for (int i = 0; i < routeCount; i++) {
+            // Alternate targets, as a table routing to both VIF groups and ENIs would
+            routes.add(LocalGatewayRoute.builder()
+                .destinationCidrBlock("10." + ((i >> 8) & 0xff) + "." + (i & 0xff) + ".0/24")
+                .localGatewayRouteTableId("lgw-rtb-12345678912345678")
+                .localGatewayVirtualInterfaceGroupId(i % 2 == 0 ? "lgw-vif-grp-12345678912345678" : null)
+                .networkInterfaceId(i % 2 == 0 ? null : "eni-12345678912345678")
+                .state(LocalGatewayRouteState.ACTIVE)
+                .type(LocalGatewayRouteType.STATIC)
+                .build());
+        }
+    }
+
+    @Benchmark
+    public List<ResourceModel> createModelsFromRoutes() {
+        final List<ResourceModel> models = new ArrayList<>(routes.size());
+        for (final LocalGatewayRoute route : routes) {
+            models.add(Translator.createModelFromRoute(route));
+        }
+        return models;
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> createListEvent() {
+        return EventGenerator.createSuccessEventForMultipleModels(createModelsFromRoutes(), null);
+    }
+}
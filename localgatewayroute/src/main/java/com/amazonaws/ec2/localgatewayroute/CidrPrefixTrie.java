@@ -0,0 +1,227 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/*
+ * Binary prefix trie over the destination CIDRs of a route table, with IPv4 and IPv6 prefixes kept under separate
+ * roots. Every query walks at most one node per prefix bit. Nodes live in parallel arrays rather than as objects, so a
+ * table of tens of thousands of routes costs a handful of arrays. Host bits past the prefix length are ignored, as EC2
+ * does, so 10.0.0.1/16 and 10.0.0.0/16 are the same prefix.
+ *
+ * Not thread safe.
+ */
+class CidrPrefixTrie<V> {
+    // Node 0 is never used, so a zero child index means "no child"
+    private static final int NO_CHILD = 0;
+    private static final int IPV4_ROOT = 1;
+    private static final int IPV6_ROOT = 2;
+
+    private int[] zeroChildren;
+    private int[] oneChildren;
+    // Entries at or below each node, which answers "is anything more specific?" without walking the subtree
+    private int[] entriesBelow;
+    private Object[] values;
+    private int nodeCount = IPV6_ROOT + 1;
+    private int size;
+
+    CidrPrefixTrie() {
+        this(64);
+    }
+
+    CidrPrefixTrie(final int expectedNodes) {
+        final int capacity = Math.max(IPV6_ROOT + 1, expectedNodes);
+        zeroChildren = new int[capacity];
+        oneChildren = new int[capacity];
+        entriesBelow = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Returns the value previously stored for the prefix, if any
+    V put(final String cidr, final V value) {
+        Objects.requireNonNull(value, "value");
+        final Prefix prefix = Prefix.parse(cidr);
+        int node = prefix.root();
+        for (int bit = 0; bit < prefix.length; bit++) {
+            int child = prefix.bit(bit) == 0 ? zeroChildren[node] : oneChildren[node];
+            if (child == NO_CHILD) {
+                child = newNode();
+                if (prefix.bit(bit) == 0) {
+                    zeroChildren[node] = child;
+                } else {
+                    oneChildren[node] = child;
+                }
+            }
+            node = child;
+        }
+        final V previous = valueAt(node);
+        values[node] = value;
+        if (previous == null) {
+            size++;
+            countNewEntry(prefix);
+        }
+        return previous;
+    }
+
+    // The value stored for exactly this prefix, or null
+    V exactMatch(final String cidr) {
+        final Prefix prefix = Prefix.parse(cidr);
+        final int node = find(prefix, prefix.length);
+        return node == NO_CHILD ? null : valueAt(node);
+    }
+
+    // The value of the most specific stored prefix that contains the whole of this one (itself included), or null
+    V longestPrefixMatch(final String cidr) {
+        final Prefix prefix = Prefix.parse(cidr);
+        int node = prefix.root();
+        V match = valueAt(node);
+        for (int bit = 0; bit < prefix.length; bit++) {
+            node = prefix.bit(bit) == 0 ? zeroChildren[node] : oneChildren[node];
+            if (node == NO_CHILD) {
+                break;
+            }
+            if (values[node] != null) {
+                match = valueAt(node);
+            }
+        }
+        return match;
+    }
+
+    // The number of stored prefixes strictly inside this one, which take precedence over it for part of its range
+    int countMoreSpecific(final String cidr) {
+        final Prefix prefix = Prefix.parse(cidr);
+        final int node = find(prefix, prefix.length);
+        if (node == NO_CHILD) {
+            return 0;
+        }
+        return entriesBelow[node] - (values[node] == null ? 0 : 1);
+    }
+
+    // True if any stored prefix shares an address with this one
+    boolean overlaps(final String cidr) {
+        return longestPrefixMatch(cidr) != null || countMoreSpecific(cidr) > 0;
+    }
+
+    private int find(final Prefix prefix, final int length) {
+        int node = prefix.root();
+        for (int bit = 0; bit < length && node != NO_CHILD; bit++) {
+            node = prefix.bit(bit) == 0 ? zeroChildren[node] : oneChildren[node];
+        }
+        return node;
+    }
+
+    private void countNewEntry(final Prefix prefix) {
+        int node = prefix.root();
+        entriesBelow[node]++;
+        for (int bit = 0; bit < prefix.length; bit++) {
+            node = prefix.bit(bit) == 0 ? zeroChildren[node] : oneChildren[node];
+            entriesBelow[node]++;
+        }
+    }
+
+    private int newNode() {
+        if (nodeCount == zeroChildren.length) {
+            final int capacity = zeroChildren.length * 2;
+            zeroChildren = Arrays.copyOf(zeroChildren, capacity);
+            oneChildren = Arrays.copyOf(oneChildren, capacity);
+            entriesBelow = Arrays.copyOf(entriesBelow, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        return nodeCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int node) {
+        return (V) values[node];
+    }
+
+    private static final class Prefix {
+        private final byte[] address;
+        private final int length;
+
+        private Prefix(final byte[] address, final int length) {
+            this.address = address;
+            this.length = length;
+        }
+
+        private int root() {
+            return address.length == 4 ? IPV4_ROOT : IPV6_ROOT;
+        }
+
+        private int bit(final int index) {
+            return (address[index >>> 3] >>> (7 - (index & 7))) & 1;
+        }
+
+        private static Prefix parse(final String cidr) {
+            final int slash = cidr == null ? -1 : cidr.indexOf('/');
+            if (slash <= 0) {
+                throw new IllegalArgumentException("Not a CIDR block: " + cidr);
+            }
+            final String address = cidr.substring(0, slash);
+            final byte[] bytes = address.indexOf(':') >= 0 ? parseIpv6(address, cidr) : parseIpv4(address, cidr);
+            final int length;
+            try {
+                length = Integer.parseInt(cidr.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a CIDR block: " + cidr, e);
+            }
+            if (length < 0 || length > bytes.length * 8) {
+                throw new IllegalArgumentException("Not a CIDR block: " + cidr);
+            }
+            return new Prefix(bytes, length);
+        }
+
+        private static byte[] parseIpv4(final String address, final String cidr) {
+            final byte[] bytes = new byte[4];
+            int octet = 0;
+            int value = -1;
+            for (int i = 0; i <= address.length(); i++) {
+                final char c = i == address.length() ? '.' : address.charAt(i);
+                if (c == '.') {
+                    if (value < 0 || octet == 4) {
+                        throw new IllegalArgumentException("Not a CIDR block: " + cidr);
+                    }
+                    bytes[octet++] = (byte) value;
+                    value = -1;
+                } else if (c >= '0' && c <= '9') {
+                    value = (value < 0 ? 0 : value * 10) + (c - '0');
+                    if (value > 255) {
+                        throw new IllegalArgumentException("Not a CIDR block: " + cidr);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Not a CIDR block: " + cidr);
+                }
+            }
+            if (octet != 4) {
+                throw new IllegalArgumentException("Not a CIDR block: " + cidr);
+            }
+            return bytes;
+        }
+
+        private static byte[] parseIpv6(final String address, final String cidr) {
+            // Only literal characters, so that InetAddress never falls back to a name lookup
+            for (int i = 0; i < address.length(); i++) {
+                final char c = address.charAt(i);
+                if (c != ':' && c != '.' && Character.digit(c, 16) < 0) {
+                    throw new IllegalArgumentException("Not a CIDR block: " + cidr);
+                }
+            }
+            try {
+                final InetAddress parsed = InetAddress.getByName(address);
+                if (!(parsed instanceof Inet6Address)) {
+                    throw new IllegalArgumentException("Not an IPv6 CIDR block: " + cidr);
+                }
+                return parsed.getAddress();
+            } catch (UnknownHostException e) {
+                throw new IllegalArgumentException("Not a CIDR block: " + cidr, e);
+            }
+        }
+    }
+}
@@ -3,12 +3,13 @@ package com.amazonaws.ec2.localgatewayroute;
 import software.amazon.awssdk.services.ec2.Ec2Client;
 import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteRequest;
 import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRoute;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.*;
 
-import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createFailedEvent;
+import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createFailedOrRescheduledEvent;
 import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createFailedReadOnlyPropertyEvent;
 import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createInProgressEvent;
 import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createSuccessEvent;
@@ -17,18 +18,42 @@ import static com.amazonaws.ec2.localgatewayroute.Translator.getHandlerErrorForE
 
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
+    private final InvocationPoller poller;
+    private final RouteTableSnapshotCache snapshots;
+
+    public CreateHandler() {
+        this(InvocationPoller.defaultPoller());
+    }
+
+    CreateHandler(final InvocationPoller poller) {
+        this(poller, RouteTableSnapshotCache.configured());
+    }
+
+    CreateHandler(final InvocationPoller poller, final RouteTableSnapshotCache snapshots) {
+        this.poller = poller;
+        this.snapshots = snapshots;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
 
         final Ec2Client client = com.amazonaws.ec2.localgatewayroute.ClientBuilder.getClient(logger);
 
-        final ReadHandler readHandler = new ReadHandler();
+        final RouteLookup lookup = new RouteLookup(proxy, client, model);
 
         if (callbackContext == null || !callbackContext.isCreateStarted()) {
             // Return InvalidRequest if caller is attempting to set a read-only property
@@ -52,34 +77,44 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                     targetType = LocalGatewayRouteTargetType.ENI;
                 }
 
-                // Check if a route with primary identifier (lgw-rtb-id, destination-cidr-block) exists already
-                try {
-                    readHandler.handleRequest(proxy, request, null, logger);
-                    throw new CfnAlreadyExistsException("LocalGatewayRoute", "localGatewayRouteTableId, destinationCidrBlock: "
-                            + model.getLocalGatewayRouteTableId() + ", " + model.getDestinationCidrBlock());
-                } catch (CfnNotFoundException e) {
-                    // Route not found, proceed with creating it
+                // EC2 rejects a route whose primary identifier (lgw-rtb-id, destination-cidr-block) is already taken,
+                // so there is no need to search for it first. With snapshots turned on, the route table's snapshot
+                // can still answer without a failed create, and shows the routes the new one overlaps
+                final CidrPrefixTrie<LocalGatewayRoute> knownRoutes = knownRoutes(request, model, proxy, client);
+                if (knownRoutes != null) {
+                    checkAgainstKnownRoutes(knownRoutes, model, lookup, logger);
                 }
-
-                createLocalGatewayRoute(
+                final ResourceModel createdModel = createLocalGatewayRoute(
                         model.getLocalGatewayRouteTableId(),
                         model.getDestinationCidrBlock(),
                         routeTarget,
                         targetType,
                         proxy,
                         client);
+                snapshots.invalidate(request.getAwsAccountId(), model.getLocalGatewayRouteTableId());
+                if (createdModel.getState() != null) {
+                    lookup.update(createdModel);
+                }
             } catch (Ec2Exception e) {
                 return ProgressEvent.defaultFailureHandler(e, getHandlerErrorForEc2Error(e.awsErrorDetails().errorCode()));
             }
+            // Without a state in the create response the route has to be searched for, which is left to the next
+            // invocation if it might not finish in time
+            if (!lookup.isKnown() && !InvocationDeadline.of(logger).allowsAnotherCall()) {
+                return createInProgressEventForCreate(model, callbackContext);
+            }
         }
 
-        final ResourceModel resultModel;
         try {
-            resultModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            // Right after a create the response already carries the new route's state, so it stands in for the first read
+            ResourceModel resultModel = lookup.get();
+            for (int polls = 0; "pending".equals(resultModel.getState()) && poller.awaitNextPoll(polls, logger); polls++) {
+                resultModel = lookup.refresh();
+            }
 
             switch (resultModel.getState()) {
                 case "pending":
-                    return createInProgressEventForCreate(resultModel);
+                    return createInProgressEventForCreate(resultModel, callbackContext);
                 case "active":
                 case "blackhole":
                     return createSuccessEvent(resultModel);
@@ -90,9 +125,13 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                         .build();
             }
         } catch (CfnNotFoundException e) {
-            return createInProgressEventForCreate(model);
+            return createInProgressEventForCreate(model, callbackContext);
         } catch (Ec2Exception e) {
-            return createFailedEvent(model, e);
+            final CallbackContext nextContext = CallbackContext.stabilizingFrom(callbackContext)
+                .createStarted(true)
+                .throttledAttempts(callbackContext == null ? 0 : callbackContext.getThrottledAttempts())
+                .build();
+            return createFailedOrRescheduledEvent(model, nextContext, e);
         }
     }
 
@@ -118,10 +157,67 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                 break;
         }
 
-        return createModelFromRoute(proxy.injectCredentialsAndInvokeV2(createRequestBuilder.build(), client::createLocalGatewayRoute).route());
+        try {
+            return createModelFromRoute(proxy.injectCredentialsAndInvokeV2(createRequestBuilder.build(), client::createLocalGatewayRoute).route());
+        } catch (Ec2Exception e) {
+            if ("RouteAlreadyExists".equals(e.awsErrorDetails().errorCode())) {
+                throw routeAlreadyExists(localGatewayRouteTableId, destinationCidrBlock);
+            }
+            throw e;
+        }
+    }
+
+    // The routes of the route table the new route goes into, or null if they aren't known
+    private CidrPrefixTrie<LocalGatewayRoute> knownRoutes(
+        final ResourceHandlerRequest<ResourceModel> request,
+        final ResourceModel model,
+        final AmazonWebServicesClientProxy proxy,
+        final Ec2Client client) {
+        try {
+            return snapshots.routes(request.getAwsAccountId(), model.getLocalGatewayRouteTableId(), proxy, client);
+        } catch (Ec2Exception e) {
+            // The check only saves a failed create, so the create is left to EC2 rather than failed here
+            return null;
+        }
+    }
+
+    private void checkAgainstKnownRoutes(
+        final CidrPrefixTrie<LocalGatewayRoute> knownRoutes,
+        final ResourceModel model,
+        final RouteLookup lookup,
+        final Logger logger) {
+        final String destinationCidrBlock = model.getDestinationCidrBlock();
+        try {
+            if (knownRoutes.exactMatch(destinationCidrBlock) != null) {
+                // The snapshot may be a few seconds old, so make sure the route is still there before failing
+                try {
+                    lookup.refresh();
+                } catch (CfnNotFoundException deletedSinceSnapshot) {
+                    return;
+                }
+                throw routeAlreadyExists(model.getLocalGatewayRouteTableId(), destinationCidrBlock);
+            }
+
+            final LocalGatewayRoute lessSpecific = knownRoutes.longestPrefixMatch(destinationCidrBlock);
+            final int moreSpecific = knownRoutes.countMoreSpecific(destinationCidrBlock);
+            if (lessSpecific != null || moreSpecific > 0) {
+                logger.log(String.format("Route to %s in %s overlaps %s and %d more specific route(s). Traffic follows the most specific route",
+                        destinationCidrBlock,
+                        model.getLocalGatewayRouteTableId(),
+                        lessSpecific == null ? "no less specific route" : lessSpecific.destinationCidrBlock(),
+                        moreSpecific));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a CIDR block, which EC2 rejects with a better message
+        }
+    }
+
+    private static CfnAlreadyExistsException routeAlreadyExists(final String localGatewayRouteTableId, final String destinationCidrBlock) {
+        return new CfnAlreadyExistsException("LocalGatewayRoute", "localGatewayRouteTableId, destinationCidrBlock: "
+                + localGatewayRouteTableId + ", " + destinationCidrBlock);
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForCreate(ResourceModel model) {
-        return createInProgressEvent(model, CallbackContext.builder().createStarted(true).build());
+    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForCreate(ResourceModel model, CallbackContext callbackContext) {
+        return createInProgressEvent(model, CallbackContext.stabilizingFrom(callbackContext).createStarted(true).build());
     }
 }
@@ -2,64 +2,218 @@ package com.amazonaws.ec2.localgatewayroute;
 
 import software.amazon.awssdk.services.ec2.Ec2Client;
 import software.amazon.awssdk.services.ec2.model.*;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createSuccessEventForMultipleModels;
 import static java.util.stream.Collectors.toList;
 
 public class ListHandler extends BaseHandler<CallbackContext> {
 
+    // Route tables are searched concurrently, but all searches share the account's EC2 request limit
+    static final int DEFAULT_ROUTE_TABLE_SEARCH_PARALLELISM = 8;
+
+    // Each List call stops once it has this many routes and hands back a token for the rest
+    static final int DEFAULT_ROUTES_PER_PAGE = 100;
+
+    private final int routeTableSearchParallelism;
+    private final int routesPerPage;
+    private final RouteTableIdCache routeTableIdCache;
+
+    public ListHandler() {
+        this(RouteTableIdCache.shared());
+    }
+
+    ListHandler(final RouteTableIdCache routeTableIdCache) {
+        this(DEFAULT_ROUTE_TABLE_SEARCH_PARALLELISM, DEFAULT_ROUTES_PER_PAGE, routeTableIdCache);
+    }
+
+    ListHandler(final int routeTableSearchParallelism, final int routesPerPage, final RouteTableIdCache routeTableIdCache) {
+        this.routeTableSearchParallelism = routeTableSearchParallelism;
+        this.routesPerPage = routesPerPage;
+        this.routeTableIdCache = routeTableIdCache;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
 
-        final List<ResourceModel> models = describeAllRoutes(proxy, ClientBuilder.getClient(logger));
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
-        return createSuccessEventForMultipleModels(models);
+        return listRoutes(proxy, request, RouteListToken.decode(request.getNextToken()), logger);
     }
 
-    private List<ResourceModel> describeAllRoutes(
+    private ProgressEvent<ResourceModel, CallbackContext> listRoutes(
         final AmazonWebServicesClientProxy proxy,
-        final Ec2Client client) {
-        List<LocalGatewayRoute> routes = new ArrayList<>();
-        String nextToken = null;
+        final ResourceHandlerRequest<ResourceModel> request,
+        final RouteListToken startToken,
+        final Logger logger) {
+        final List<String> localGatewayRouteTableIds = getRouteTableIds(proxy, request, startToken, logger);
+
+        final List<ResourceModel> models = new ArrayList<>();
+        int nextRouteTableIndex = startToken == null ? 0 : firstIndexAtOrAfter(localGatewayRouteTableIds, startToken.getRouteTableId());
+        if (nextRouteTableIndex >= localGatewayRouteTableIds.size()) {
+            return createSuccessEventForMultipleModels(models, null);
+        }
 
-        List<String> localGatewayRouteTableIds = getAllRouteTableIds(proxy, client);
-
-        for (String localGatewayRouteTableId : localGatewayRouteTableIds) {
-            do {
-                try {
-                    final SearchLocalGatewayRoutesRequest request = SearchLocalGatewayRoutesRequest
-                            .builder()
-                            .localGatewayRouteTableId(localGatewayRouteTableId)
-                            .filters(
-                                    Filter.builder().name("state").values("active", "blackhole").build(),
-                                    Filter.builder().name("type").values("static").build()
-                            )
-                            .nextToken(nextToken)
-                            .build();
-                    final SearchLocalGatewayRoutesResponse response = proxy.injectCredentialsAndInvokeV2(request, client::searchLocalGatewayRoutes);
-                    nextToken = response.nextToken();
-                    routes.addAll(response.routes());
-                } catch (Ec2Exception e) {
-                    // If an account doesn't have permissions to search routes on an LGW route table, just ignore that route table
-                    if (!"InvalidLocalGatewayRouteTableID.NotFound".equals(e.awsErrorDetails().errorCode())) {
-                        throw e;
+        final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(routeTableSearchParallelism, localGatewayRouteTableIds.size() - nextRouteTableIndex));
+        try {
+            // Searches are queued in route table order. Each fetches one page of routes, and the next route tables
+            // are prefetched while earlier ones are consumed
+            final Deque<Future<RoutePage>> searches = new ArrayDeque<>();
+            final String firstRouteTableId = localGatewayRouteTableIds.get(nextRouteTableIndex);
+            final boolean resumingRouteTable = startToken != null && firstRouteTableId.equals(startToken.getRouteTableId());
+            searches.add(submitSearch(
+                executor,
+                nextRouteTableIndex++,
+                firstRouteTableId,
+                resumingRouteTable ? startToken.getSearchToken() : null,
+                resumingRouteTable ? startToken.getRouteOffset() : 0,
+                proxy,
+                logger));
+
+            while (true) {
+                while (searches.size() < routeTableSearchParallelism && nextRouteTableIndex < localGatewayRouteTableIds.size()) {
+                    searches.addLast(submitSearch(executor, nextRouteTableIndex, localGatewayRouteTableIds.get(nextRouteTableIndex), null, 0, proxy, logger));
+                    nextRouteTableIndex++;
+                }
+
+                final RoutePage page = awaitSearch(searches.removeFirst());
+                // Only as many routes as this List call has room for are taken, the next call starts at the rest
+                final int from = Math.min(page.routeOffset, page.routes.size());
+                final int to = Math.min(page.routes.size(), from + routesPerPage - models.size());
+                page.routes
+                    .subList(from, to)
+                    .stream()
+                    .map(Translator::createModelFromRoute)
+                    .forEach(models::add);
+                final String routeTableId = localGatewayRouteTableIds.get(page.routeTableIndex);
+
+                if (to < page.routes.size()) {
+                    return createSuccessEventForMultipleModels(models, new RouteListToken(routeTableId, page.searchToken, to).encode());
+                } else if (page.nextToken != null) {
+                    if (models.size() >= routesPerPage) {
+                        return createSuccessEventForMultipleModels(models, new RouteListToken(routeTableId, page.nextToken, 0).encode());
                     }
+                    // Finish this route table before any later one so that routes stay in route table order
+                    searches.addFirst(submitSearch(executor, page.routeTableIndex, routeTableId, page.nextToken, 0, proxy, logger));
+                } else if (page.routeTableIndex + 1 == localGatewayRouteTableIds.size()) {
+                    return createSuccessEventForMultipleModels(models, null);
+                } else if (models.size() >= routesPerPage) {
+                    final String followingRouteTableId = localGatewayRouteTableIds.get(page.routeTableIndex + 1);
+                    return createSuccessEventForMultipleModels(models, new RouteListToken(followingRouteTableId, null, 0).encode());
                 }
-            } while (nextToken != null);
+            }
+        } finally {
+            executor.shutdownNow();
         }
+    }
 
-        return routes
-            .stream()
-            .map(Translator::createModelFromRoute)
-            .collect(toList());
+    private Future<RoutePage> submitSearch(
+        final ExecutorService executor,
+        final int routeTableIndex,
+        final String localGatewayRouteTableId,
+        final String searchToken,
+        final int routeOffset,
+        final AmazonWebServicesClientProxy proxy,
+        final Logger logger) {
+        // getClient binds the handler logger to the worker thread making the call
+        return executor.submit(() -> searchStaticRoutes(
+            routeTableIndex, localGatewayRouteTableId, searchToken, routeOffset, proxy, ClientBuilder.getClient(logger)));
+    }
+
+    private RoutePage searchStaticRoutes(
+        final int routeTableIndex,
+        final String localGatewayRouteTableId,
+        final String searchToken,
+        final int routeOffset,
+        final AmazonWebServicesClientProxy proxy,
+        final Ec2Client client) {
+        try {
+            final SearchLocalGatewayRoutesRequest request = SearchLocalGatewayRoutesRequest
+                    .builder()
+                    .localGatewayRouteTableId(localGatewayRouteTableId)
+                    .filters(
+                            Filter.builder().name("state").values("active", "blackhole").build(),
+                            Filter.builder().name("type").values("static").build()
+                    )
+                    .maxResults(routesPerPage)
+                    .nextToken(searchToken)
+                    .build();
+            final SearchLocalGatewayRoutesResponse response = proxy.injectCredentialsAndInvokeV2(request, client::searchLocalGatewayRoutes);
+            return new RoutePage(routeTableIndex, searchToken, routeOffset, response.routes(), response.nextToken());
+        } catch (Ec2Exception e) {
+            // If an account doesn't have permissions to search routes on an LGW route table, just ignore that route table
+            if (!"InvalidLocalGatewayRouteTableID.NotFound".equals(e.awsErrorDetails().errorCode())) {
+                throw e;
+            }
+            return new RoutePage(routeTableIndex, searchToken, routeOffset, Collections.emptyList(), null);
+        }
+    }
+
+    private static RoutePage awaitSearch(final Future<RoutePage> search) {
+        try {
+            return search.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CfnGeneralServiceException("Interrupted while searching local gateway routes", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CfnGeneralServiceException(e.getCause());
+        }
+    }
+
+    private static int firstIndexAtOrAfter(final List<String> sortedRouteTableIds, final String routeTableId) {
+        int index = 0;
+        while (index < sortedRouteTableIds.size() && sortedRouteTableIds.get(index).compareTo(routeTableId) < 0) {
+            index++;
+        }
+        return index;
+    }
+
+    // Sorted so that the route table named in a token keeps its position between List calls
+    private List<String> getRouteTableIds(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final RouteListToken startToken,
+        final Logger logger) {
+        // A List for the routes of one route table needs no discovery
+        final ResourceModel model = request.getDesiredResourceState();
+        if (model != null && model.getLocalGatewayRouteTableId() != null) {
+            return Collections.singletonList(model.getLocalGatewayRouteTableId());
+        }
+        final Supplier<List<String>> discover = () -> getAllRouteTableIds(proxy, ClientBuilder.getClient(logger));
+        final List<String> localGatewayRouteTableIds = routeTableIdCache.get(request.getAwsAccountId(), request.getRegion(), discover);
+        if (startToken != null && Collections.binarySearch(localGatewayRouteTableIds, startToken.getRouteTableId()) < 0) {
+            // The token names a route table these IDs don't have, so they are out of date: it was either created after
+            // they were discovered or has been deleted since
+            routeTableIdCache.invalidate(request.getAwsAccountId(), request.getRegion());
+            return routeTableIdCache.get(request.getAwsAccountId(), request.getRegion(), discover);
+        }
+        return localGatewayRouteTableIds;
     }
 
     private List<String> getAllRouteTableIds(AmazonWebServicesClientProxy proxy, Ec2Client client) {
@@ -70,6 +224,7 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         do {
             final DescribeLocalGatewayRouteTablesRequest describeLocalGatewayRouteTablesRequest = DescribeLocalGatewayRouteTablesRequest
                 .builder()
+                .nextToken(nextToken)
                 .build();
             final DescribeLocalGatewayRouteTablesResponse response = proxy.injectCredentialsAndInvokeV2(
                 describeLocalGatewayRouteTablesRequest,
@@ -81,6 +236,29 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         return localGatewayRouteTables
             .stream()
             .map(LocalGatewayRouteTable::localGatewayRouteTableId)
+            .sorted()
             .collect(toList());
     }
+
+    private static final class RoutePage {
+        private final int routeTableIndex;
+        // The token this page was fetched with and how many of its routes an earlier List call already took
+        private final String searchToken;
+        private final int routeOffset;
+        private final List<LocalGatewayRoute> routes;
+        private final String nextToken;
+
+        private RoutePage(
+            final int routeTableIndex,
+            final String searchToken,
+            final int routeOffset,
+            final List<LocalGatewayRoute> routes,
+            final String nextToken) {
+            this.routeTableIndex = routeTableIndex;
+            this.searchToken = searchToken;
+            this.routeOffset = routeOffset;
+            this.routes = routes;
+            this.nextToken = nextToken;
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import lombok.Value;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * Continuation token for the List handler. Routes are listed route table by route table, so the position is the
+ * route table being read, the SearchLocalGatewayRoutes token within it (null when that table has not been started
+ * yet) and how many routes of the page that token fetches have already been listed.
+ */
+@Value
+class RouteListToken {
+    private static final char SEPARATOR = '\n';
+
+    String routeTableId;
+    String searchToken;
+    int routeOffset;
+
+    static RouteListToken decode(final String token) {
+        if (token == null) {
+            return null;
+        }
+        final String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new CfnInvalidRequestException("Invalid next token " + token, e);
+        }
+        final int separator = decoded.indexOf(SEPARATOR);
+        if (separator <= 0) {
+            throw new CfnInvalidRequestException("Invalid next token " + token);
+        }
+        // Tokens handed out before the offset was added end with the search token
+        final int offsetSeparator = decoded.indexOf(SEPARATOR, separator + 1);
+        final String searchToken = offsetSeparator < 0
+            ? decoded.substring(separator + 1)
+            : decoded.substring(separator + 1, offsetSeparator);
+        int routeOffset = 0;
+        if (offsetSeparator >= 0) {
+            try {
+                routeOffset = Integer.parseInt(decoded.substring(offsetSeparator + 1));
+            } catch (NumberFormatException e) {
+                throw new CfnInvalidRequestException("Invalid next token " + token, e);
+            }
+            if (routeOffset < 0) {
+                throw new CfnInvalidRequestException("Invalid next token " + token);
+            }
+        }
+        return new RouteListToken(decoded.substring(0, separator), searchToken.isEmpty() ? null : searchToken, routeOffset);
+    }
+
+    String encode() {
+        final String decoded = routeTableId + SEPARATOR + (searchToken == null ? "" : searchToken) + SEPARATOR + routeOffset;
+        return Base64.getUrlEncoder().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,80 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.model.Filter;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRoute;
+import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesRequest;
+import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesResponse;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import static com.amazonaws.ec2.localgatewayroute.Translator.createModelFromRoute;
+
+/*
+ * Looks up the route a request is about for the length of one handler invocation. Every search shares the
+ * invocation's EC2 client, and the latest known state of the route is kept so that later steps of the invocation can
+ * use it instead of searching again.
+ */
+class RouteLookup {
+    // EC2 goes on reporting a route in this state for a while after it is gone, so it counts as not found
+    static final String DELETED_STATE = "deleted";
+
+    private final AmazonWebServicesClientProxy proxy;
+    private final Ec2Client client;
+    private final String localGatewayRouteTableId;
+    private final String destinationCidrBlock;
+
+    private ResourceModel route;
+
+    RouteLookup(final AmazonWebServicesClientProxy proxy, final Ec2Client client, final ResourceModel model) {
+        this.proxy = proxy;
+        this.client = client;
+        this.localGatewayRouteTableId = model.getLocalGatewayRouteTableId();
+        this.destinationCidrBlock = model.getDestinationCidrBlock();
+    }
+
+    // The latest known state of the route, only searching if nothing is known yet
+    ResourceModel get() {
+        return route != null ? route : refresh();
+    }
+
+    // Whether the route's state is known without searching
+    boolean isKnown() {
+        return route != null;
+    }
+
+    // Searches for the route again. Throws CfnNotFoundException if it doesn't exist
+    ResourceModel refresh() {
+        route = null;
+        String nextToken = null;
+        LocalGatewayRoute found = null;
+
+        do {
+            SearchLocalGatewayRoutesRequest request = SearchLocalGatewayRoutesRequest.builder()
+                .localGatewayRouteTableId(localGatewayRouteTableId)
+                .filters(Filter.builder().name("route-search.exact-match").values(destinationCidrBlock).build(),
+                        Filter.builder().name("type").values("static").build())
+                .nextToken(nextToken)
+                .build();
+            final SearchLocalGatewayRoutesResponse response = proxy.injectCredentialsAndInvokeV2(request, client::searchLocalGatewayRoutes);
+            if (response.routes().size() > 1) {
+                throw new CfnGeneralServiceException("Should be 1 route when reading, but was " + response.routes());
+            }
+            if (!response.routes().isEmpty()) {
+                found = response.routes().get(0);
+            }
+            nextToken = response.nextToken();
+        } while (found == null && nextToken != null);
+        if (found == null || DELETED_STATE.equals(found.stateAsString())) {
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, destinationCidrBlock);
+        }
+        route = createModelFromRoute(found);
+        return route;
+    }
+
+    // Records the route as returned by a call that changed it, such as CreateLocalGatewayRoute
+    void update(final ResourceModel route) {
+        this.route = route;
+    }
+}
@@ -0,0 +1,73 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/*
+ * The local gateway route table IDs of each account and region, kept for the life of a warm container. Every List call
+ * needs them before it can search any routes, and CloudFormation tends to call List several times in a row, so they
+ * are discovered once and reused until they expire or a route table turns out to have been deleted.
+ *
+ * A route table created since the IDs were discovered is only listed once they expire, which the short time to live
+ * keeps brief.
+ */
+class RouteTableIdCache {
+    static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(60);
+
+    static final RouteTableIdCache DISABLED = new RouteTableIdCache(Duration.ZERO, Clock.systemUTC());
+
+    private static final RouteTableIdCache SHARED = new RouteTableIdCache(DEFAULT_TIME_TO_LIVE, Clock.systemUTC());
+
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    RouteTableIdCache(final Duration timeToLive, final Clock clock) {
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    static RouteTableIdCache shared() {
+        return SHARED;
+    }
+
+    // The route table IDs of the account and region, discovered if there are none recent enough to be served
+    List<String> get(final String accountId, final String region, final Supplier<List<String>> discover) {
+        if (timeToLive.isZero()) {
+            return discover.get();
+        }
+        final String key = key(accountId, region);
+        final long now = clock.millis();
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.routeTableIds;
+        }
+        final List<String> routeTableIds = Collections.unmodifiableList(discover.get());
+        entries.put(key, new Entry(routeTableIds, now + timeToLive.toMillis()));
+        return routeTableIds;
+    }
+
+    // Drops the route table IDs of an account and region once they are known to be out of date
+    void invalidate(final String accountId, final String region) {
+        entries.remove(key(accountId, region));
+    }
+
+    private static String key(final String accountId, final String region) {
+        return accountId + '/' + region;
+    }
+
+    private static final class Entry {
+        private final List<String> routeTableIds;
+        private final long expiresAt;
+
+        private Entry(final List<String> routeTableIds, final long expiresAt) {
+            this.routeTableIds = routeTableIds;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.model.Filter;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRoute;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteState;
+import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesRequest;
+import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Static routes of recently read route tables, kept for the life of a warm container. A stack with many routes in one
+ * route table reads each of them separately, so the whole table is searched once, indexed by destination CIDR, and the
+ * following reads are answered from that snapshot until it expires or this container changes a route in the table.
+ *
+ * A snapshot only vouches for routes it contains, and only keeps active and blackhole ones. A route missing from it may
+ * have been created or changed elsewhere since, so the caller searches for it directly instead of treating it as
+ * deleted.
+ *
+ * Snapshots are only invalidated by changes made in this container, so a route changed from another one can be served
+ * stale until the snapshot expires. The handlers therefore only use the shared cache when the function's environment
+ * sets ROUTE_TABLE_SNAPSHOTS_ENABLED to true, and DISABLED otherwise.
+ */
+class RouteTableSnapshotCache {
+    static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(10);
+
+    static final String ENABLED_VARIABLE = "ROUTE_TABLE_SNAPSHOTS_ENABLED";
+
+    // Tables with more static routes than this are not worth fetching in full for a single read
+    static final int MAX_SNAPSHOT_ROUTES = 2_000;
+
+    private static final int SNAPSHOT_PAGE_SIZE = 1_000;
+
+    private static final Set<LocalGatewayRouteState> STABLE_STATES =
+        EnumSet.of(LocalGatewayRouteState.ACTIVE, LocalGatewayRouteState.BLACKHOLE);
+
+    static final RouteTableSnapshotCache DISABLED = new RouteTableSnapshotCache(Duration.ZERO, Clock.systemUTC());
+
+    private static final RouteTableSnapshotCache SHARED = new RouteTableSnapshotCache(DEFAULT_TIME_TO_LIVE, Clock.systemUTC());
+
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    RouteTableSnapshotCache(final Duration timeToLive, final Clock clock) {
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    // The cache the handlers use, chosen by the function's environment
+    static RouteTableSnapshotCache configured() {
+        return configured(System.getenv(ENABLED_VARIABLE));
+    }
+
+    static RouteTableSnapshotCache configured(final String enabled) {
+        return Boolean.parseBoolean(enabled) ? SHARED : DISABLED;
+    }
+
+    // The route from a snapshot of its route table, or null if the route should be searched for directly
+    LocalGatewayRoute find(
+        final String accountId,
+        final String localGatewayRouteTableId,
+        final String destinationCidrBlock,
+        final AmazonWebServicesClientProxy proxy,
+        final Ec2Client client) {
+        if (timeToLive.isZero()) {
+            return null;
+        }
+        return snapshotOf(accountId, localGatewayRouteTableId, proxy, client).routeFor(destinationCidrBlock);
+    }
+
+    // The active and blackhole routes of a route table, from its snapshot. Null if snapshots are disabled or the route
+    // table was too large to keep
+    CidrPrefixTrie<LocalGatewayRoute> routes(
+        final String accountId,
+        final String localGatewayRouteTableId,
+        final AmazonWebServicesClientProxy proxy,
+        final Ec2Client client) {
+        if (timeToLive.isZero()) {
+            return null;
+        }
+        return snapshotOf(accountId, localGatewayRouteTableId, proxy, client).routes;
+    }
+
+    // Drops the snapshot of a route table after this container changed one of its routes
+    void invalidate(final String accountId, final String localGatewayRouteTableId) {
+        snapshots.remove(key(accountId, localGatewayRouteTableId));
+    }
+
+    // The snapshot of a route table, taken now unless a recent enough one is kept
+    private Snapshot snapshotOf(
+        final String accountId,
+        final String localGatewayRouteTableId,
+        final AmazonWebServicesClientProxy proxy,
+        final Ec2Client client) {
+        final String key = key(accountId, localGatewayRouteTableId);
+        final long now = clock.millis();
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null || snapshot.expiresAt <= now) {
+            snapshots.values().removeIf(expired -> expired.expiresAt <= now);
+            snapshot = takeSnapshot(localGatewayRouteTableId, now + timeToLive.toMillis(), proxy, client);
+            snapshots.put(key, snapshot);
+        }
+        return snapshot;
+    }
+
+    private static Snapshot takeSnapshot(
+        final String localGatewayRouteTableId,
+        final long expiresAt,
+        final AmazonWebServicesClientProxy proxy,
+        final Ec2Client client) {
+        final CidrPrefixTrie<LocalGatewayRoute> routes = new CidrPrefixTrie<>();
+        final Set<String> ambiguousCidrs = new HashSet<>();
+        int routeCount = 0;
+        String nextToken = null;
+
+        do {
+            final SearchLocalGatewayRoutesRequest request = SearchLocalGatewayRoutesRequest.builder()
+                .localGatewayRouteTableId(localGatewayRouteTableId)
+                .filters(Filter.builder().name("type").values("static").build())
+                .maxResults(SNAPSHOT_PAGE_SIZE)
+                .nextToken(nextToken)
+                .build();
+            final SearchLocalGatewayRoutesResponse response = proxy.injectCredentialsAndInvokeV2(request, client::searchLocalGatewayRoutes);
+            routeCount += response.routes().size();
+            if (routeCount > MAX_SNAPSHOT_ROUTES) {
+                return new Snapshot(null, ambiguousCidrs, expiresAt);
+            }
+            for (final LocalGatewayRoute route : response.routes()) {
+                // Routes on their way in or out are left to the direct search, which reports them as they are now
+                if (!STABLE_STATES.contains(route.state())) {
+                    continue;
+                }
+                try {
+                    final LocalGatewayRoute previous = routes.put(route.destinationCidrBlock(), route);
+                    if (previous != null) {
+                        ambiguousCidrs.add(previous.destinationCidrBlock());
+                        ambiguousCidrs.add(route.destinationCidrBlock());
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Left to the direct search, which doesn't need to understand the CIDR
+                    ambiguousCidrs.add(route.destinationCidrBlock());
+                }
+            }
+            nextToken = response.nextToken();
+        } while (nextToken != null);
+
+        return new Snapshot(routes, ambiguousCidrs, expiresAt);
+    }
+
+    private static String key(final String accountId, final String localGatewayRouteTableId) {
+        return accountId + '/' + localGatewayRouteTableId;
+    }
+
+    private static final class Snapshot {
+        // Null if the route table had too many routes to keep
+        private final CidrPrefixTrie<LocalGatewayRoute> routes;
+        private final Set<String> ambiguousCidrs;
+        private final long expiresAt;
+
+        private Snapshot(final CidrPrefixTrie<LocalGatewayRoute> routes, final Set<String> ambiguousCidrs, final long expiresAt) {
+            this.routes = routes;
+            this.ambiguousCidrs = ambiguousCidrs;
+            this.expiresAt = expiresAt;
+        }
+
+        private LocalGatewayRoute routeFor(final String destinationCidrBlock) {
+            // Several routes for one CIDR are reported by the direct search, so leave them to it
+            if (routes == null || ambiguousCidrs.contains(destinationCidrBlock)) {
+                return null;
+            }
+            final LocalGatewayRoute route;
+            try {
+                route = routes.exactMatch(destinationCidrBlock);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            // The trie ignores host bits, but a read is for the CIDR exactly as written
+            return route != null && route.destinationCidrBlock().equals(destinationCidrBlock) ? route : null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/*
+ * Counts retries and throttles per operation, and stops retrying once the next attempt could not finish before the
+ * handler invocation times out.
+ */
+class ThrottlingAwareRetryCondition implements RetryCondition {
+
+    static final Duration MAX_BACKOFF = Duration.ofSeconds(10);
+
+    // A retry waits up to MAX_BACKOFF before it is sent, and the handler still needs time to report back afterwards
+    static final Duration MIN_TIME_LEFT_TO_RETRY = MAX_BACKOFF.plusSeconds(5);
+
+    private final RetryCondition delegate;
+    private final Clock clock;
+
+    ThrottlingAwareRetryCondition(final RetryCondition delegate) {
+        this(delegate, Clock.systemUTC());
+    }
+
+    ThrottlingAwareRetryCondition(final RetryCondition delegate, final Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean shouldRetry(final RetryPolicyContext context) {
+        final String operation = context.executionAttributes().getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        final boolean throttled = context.exception() != null && RetryUtils.isThrottlingException(context.exception());
+        if (throttled) {
+            RetryCounters.recordThrottle(operation);
+        }
+        final CallMetrics metrics = context.executionAttributes().getAttribute(AttemptLoggingExecutionInterceptor.CALL_METRICS);
+        if (metrics != null) {
+            metrics.failedAttemptClassified(throttled);
+        }
+        if (!delegate.shouldRetry(context) || !hasTimeToRetry(context)) {
+            return false;
+        }
+        RetryCounters.recordRetry(operation);
+        return true;
+    }
+
+    @Override
+    public void requestWillNotBeRetried(final RetryPolicyContext context) {
+        delegate.requestWillNotBeRetried(context);
+    }
+
+    @Override
+    public void requestSucceeded(final RetryPolicyContext context) {
+        delegate.requestSucceeded(context);
+    }
+
+    private boolean hasTimeToRetry(final RetryPolicyContext context) {
+        final Long deadline = context.executionAttributes().getAttribute(AttemptLoggingExecutionInterceptor.INVOCATION_DEADLINE);
+        return deadline == null || deadline - clock.millis() >= MIN_TIME_LEFT_TO_RETRY.toMillis();
+    }
+}
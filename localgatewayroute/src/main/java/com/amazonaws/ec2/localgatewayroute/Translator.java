@@ -1,5 +1,6 @@
 package com.amazonaws.ec2.localgatewayroute;
 
+import software.amazon.awssdk.services.ec2.model.Ec2Exception;
 import software.amazon.awssdk.services.ec2.model.LocalGatewayRoute;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 
@@ -29,8 +30,24 @@ class Translator {
                 return HandlerErrorCode.NotFound;
             case "InvalidRoute.NotFound":
                 return HandlerErrorCode.NotFound;
+            case "RequestLimitExceeded":
+            case "Throttling":
+                return HandlerErrorCode.Throttling;
+            case "InternalError":
+            case "ServiceUnavailable":
+            case "Unavailable":
+                return HandlerErrorCode.ServiceInternalError;
             default:
                 return HandlerErrorCode.GeneralServiceException;
         }
     }
+
+    // Throttling and server side failures are worth trying again later, the request itself was fine
+    static boolean isTransientEc2Error(final Ec2Exception e) {
+        final HandlerErrorCode errorCode = getHandlerErrorForEc2Error(e.awsErrorDetails().errorCode());
+        return e.isThrottlingException()
+                || e.statusCode() >= 500
+                || errorCode == HandlerErrorCode.Throttling
+                || errorCode == HandlerErrorCode.ServiceInternalError;
+    }
 }
@@ -4,31 +4,58 @@ import software.amazon.awssdk.services.ec2.Ec2Client;
 import software.amazon.awssdk.services.ec2.model.Ec2Exception;
 import software.amazon.awssdk.services.ec2.model.ModifyLocalGatewayRouteRequest;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.concurrent.TimeUnit;
+
+import static com.amazonaws.ec2.localgatewayroute.EventGenerator.MAX_STABILIZATION_MILLIS;
 import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createFailedEvent;
+import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createFailedOrRescheduledEvent;
+import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createInProgressEvent;
+import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createNotStabilizedEvent;
 import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createNotUpdatableEvent;
 import static com.amazonaws.ec2.localgatewayroute.EventGenerator.createSuccessEvent;
+import static com.amazonaws.ec2.localgatewayroute.EventGenerator.isStabilizationTimedOut;
+import static com.amazonaws.ec2.localgatewayroute.Translator.createModelFromRoute;
 
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
+    private final InvocationPoller poller;
+
+    public UpdateHandler() {
+        this(InvocationPoller.defaultPoller());
+    }
+
+    UpdateHandler(final InvocationPoller poller) {
+        this.poller = poller;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
         final Ec2Client client = ClientBuilder.getClient(logger);
         final ResourceModel model = request.getDesiredResourceState();
+        final RouteLookup lookup = new RouteLookup(proxy, client, model);
 
         if (callbackContext == null || !callbackContext.isUpdateStarted()) {
-            final ReadHandler readHandler = new ReadHandler();
             final ResourceModel existingResource;
             try {
-                existingResource = readHandler.handleRequest(proxy, request, callbackContext, logger).getResourceModel();
+                existingResource = lookup.get();
             } catch (Ec2Exception e) {
                 return createFailedEvent(model, e);
             }
@@ -70,25 +97,78 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 }
             }
 
-            if (updateRequired) {
-                try {
-                    modifyLocalGatewayRoute(
-                            model.getLocalGatewayRouteTableId(),
-                            model.getDestinationCidrBlock(),
-                            routeTarget,
-                            targetType,
-                            proxy,
-                            client);
-                } catch (Ec2Exception e) {
-                    return createFailedEvent(model, e);
-                }
+            if (!updateRequired) {
+                return createSuccessEvent(model);
+            }
+
+            if (!InvocationDeadline.of(logger).allowsAnotherCall()) {
+                // Nothing has been changed yet, so the next invocation starts over
+                return createInProgressEvent(model, CallbackContext.builder().build());
             }
+
+            try {
+                lookup.update(modifyLocalGatewayRoute(
+                        model.getLocalGatewayRouteTableId(),
+                        model.getDestinationCidrBlock(),
+                        routeTarget,
+                        targetType,
+                        proxy,
+                        client));
+                RouteTableSnapshotCache.configured().invalidate(request.getAwsAccountId(), model.getLocalGatewayRouteTableId());
+            } catch (Ec2Exception e) {
+                return createFailedEvent(model, e);
+            }
+        }
+
+        try {
+            // Right after the modify the response already carries the route, so it stands in for the first read. Traffic
+            // only follows the new target once the route is back to active or blackhole on it
+            ResourceModel resultModel = lookup.get();
+            for (int polls = 0; !isStableOnTarget(resultModel, model) && poller.awaitNextPoll(polls, logger); polls++) {
+                resultModel = lookup.refresh();
+            }
+
+            if (isStableOnTarget(resultModel, model)) {
+                return createSuccessEvent(resultModel);
+            }
+            switch (resultModel.getState()) {
+                case "pending":
+                case "active":
+                case "blackhole":
+                    // A route left on its old target never stabilizes on its own, so the wait is capped
+                    if (isStabilizationTimedOut(callbackContext, System.currentTimeMillis())) {
+                        return createNotStabilizedEvent(model, String.format(
+                            "Route %s in %s is still %s and not on its new target after %d minutes",
+                            model.getDestinationCidrBlock(), model.getLocalGatewayRouteTableId(), resultModel.getState(),
+                            TimeUnit.MILLISECONDS.toMinutes(MAX_STABILIZATION_MILLIS)));
+                    }
+                    return createInProgressEventForUpdate(resultModel, callbackContext);
+                default:
+                    return createNotStabilizedEvent(model, String.format("Route %s in %s is %s while its target is being updated",
+                        model.getDestinationCidrBlock(), model.getLocalGatewayRouteTableId(), resultModel.getState()));
+            }
+        } catch (CfnNotFoundException e) {
+            // Read reports a deleted route as not found
+            return createNotStabilizedEvent(model, String.format("Route %s in %s is deleted while its target is being updated",
+                model.getDestinationCidrBlock(), model.getLocalGatewayRouteTableId()));
+        } catch (Ec2Exception e) {
+            final CallbackContext nextContext = CallbackContext.stabilizingFrom(callbackContext)
+                .updateStarted(true)
+                .throttledAttempts(callbackContext == null ? 0 : callbackContext.getThrottledAttempts())
+                .build();
+            return createFailedOrRescheduledEvent(model, nextContext, e);
         }
+    }
 
-        return createSuccessEvent(model);
+    // Whether the route has taken the desired target and is no longer being programmed
+    private static boolean isStableOnTarget(final ResourceModel route, final ResourceModel desired) {
+        final boolean onTarget = desired.getLocalGatewayVirtualInterfaceGroupId() != null
+            ? desired.getLocalGatewayVirtualInterfaceGroupId().equals(route.getLocalGatewayVirtualInterfaceGroupId())
+            : desired.getNetworkInterfaceId() != null && desired.getNetworkInterfaceId().equals(route.getNetworkInterfaceId());
+        return onTarget && ("active".equals(route.getState()) || "blackhole".equals(route.getState()));
     }
 
-    private void modifyLocalGatewayRoute(
+    private ResourceModel modifyLocalGatewayRoute(
             final String localGatewayRouteTableId,
             final String destinationCidrBlock,
             final String targetId,
@@ -110,6 +190,10 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 break;
         }
 
-        proxy.injectCredentialsAndInvokeV2(modifyRequestBuilder.build(), client::modifyLocalGatewayRoute);
+        return createModelFromRoute(proxy.injectCredentialsAndInvokeV2(modifyRequestBuilder.build(), client::modifyLocalGatewayRoute).route());
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForUpdate(ResourceModel model, CallbackContext callbackContext) {
+        return createInProgressEvent(model, CallbackContext.stabilizingFrom(callbackContext).updateStarted(true).build());
     }
 }
@@ -0,0 +1,89 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CidrPrefixTrieTest {
+
+    @Test
+    public void testExactMatch() {
+        final CidrPrefixTrie<String> trie = new CidrPrefixTrie<>(4);
+        assertThat(trie.put("10.0.0.0/16", "a")).isNull();
+        assertThat(trie.put("10.0.0.0/24", "b")).isNull();
+        assertThat(trie.put("2001:db8::/32", "c")).isNull();
+
+        assertThat(trie.exactMatch("10.0.0.0/16")).isEqualTo("a");
+        assertThat(trie.exactMatch("10.0.0.0/24")).isEqualTo("b");
+        assertThat(trie.exactMatch("10.0.0.0/20")).isNull();
+        assertThat(trie.exactMatch("2001:db8::/32")).isEqualTo("c");
+        assertThat(trie.exactMatch("2001:db8::/48")).isNull();
+        assertThat(trie.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testHostBitsAreIgnored() {
+        final CidrPrefixTrie<String> trie = new CidrPrefixTrie<>();
+        trie.put("10.0.0.0/16", "a");
+
+        assertThat(trie.put("10.0.255.1/16", "b")).isEqualTo("a");
+        assertThat(trie.exactMatch("10.0.0.0/16")).isEqualTo("b");
+        assertThat(trie.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLongestPrefixMatch() {
+        final CidrPrefixTrie<String> trie = new CidrPrefixTrie<>();
+        trie.put("0.0.0.0/0", "default");
+        trie.put("10.0.0.0/8", "a");
+        trie.put("10.0.0.0/16", "b");
+
+        assertThat(trie.longestPrefixMatch("10.0.1.0/24")).isEqualTo("b");
+        assertThat(trie.longestPrefixMatch("10.1.0.0/16")).isEqualTo("a");
+        assertThat(trie.longestPrefixMatch("10.0.0.0/16")).isEqualTo("b");
+        assertThat(trie.longestPrefixMatch("192.168.0.0/16")).isEqualTo("default");
+        // IPv4 and IPv6 prefixes never contain each other
+        assertThat(trie.longestPrefixMatch("::/0")).isNull();
+    }
+
+    @Test
+    public void testOverlaps() {
+        final CidrPrefixTrie<String> trie = new CidrPrefixTrie<>();
+        trie.put("10.0.1.0/24", "a");
+        trie.put("10.0.2.0/24", "b");
+        trie.put("fd00::/64", "c");
+
+        assertThat(trie.countMoreSpecific("10.0.0.0/16")).isEqualTo(2);
+        assertThat(trie.countMoreSpecific("10.0.1.0/24")).isEqualTo(0);
+        assertThat(trie.countMoreSpecific("fd00::/8")).isEqualTo(1);
+        assertThat(trie.overlaps("10.0.0.0/16")).isTrue();
+        assertThat(trie.overlaps("10.0.1.128/25")).isTrue();
+        assertThat(trie.overlaps("10.0.3.0/24")).isFalse();
+        assertThat(trie.overlaps("fd00:0:0:1::/64")).isFalse();
+    }
+
+    @Test
+    public void testManyRoutes() {
+        final CidrPrefixTrie<Integer> trie = new CidrPrefixTrie<>();
+        for (int i = 0; i < 10_000; i++) {
+            trie.put("10." + (i >> 8) + "." + (i & 0xff) + ".0/24", i);
+        }
+
+        assertThat(trie.size()).isEqualTo(10_000);
+        assertThat(trie.exactMatch("10.39.15.0/24")).isEqualTo((39 << 8) + 15);
+        assertThat(trie.countMoreSpecific("10.0.0.0/8")).isEqualTo(10_000);
+        assertThat(trie.longestPrefixMatch("10.39.15.128/25")).isEqualTo((39 << 8) + 15);
+    }
+
+    @Test
+    public void testInvalidCidrs() {
+        final CidrPrefixTrie<String> trie = new CidrPrefixTrie<>();
+        for (String cidr : new String[] {null, "10.0.0.0", "/16", "10.0.0/16", "10.0.0.0.0/16", "10.0.0.256/16",
+            "10.0.0.0/33", "10.0.0.0/-1", "10.0.0.0/x", "10..0.0/16", "a.b.c.d/8", "fd00::/129", "fd00::g/64",
+            "::ffff:10.0.0.0/120", "example.com/8"}) {
+            assertThrows(IllegalArgumentException.class, () -> trie.exactMatch(cidr), String.valueOf(cidr));
+        }
+        assertThrows(NullPointerException.class, () -> trie.put("10.0.0.0/8", null));
+    }
+}
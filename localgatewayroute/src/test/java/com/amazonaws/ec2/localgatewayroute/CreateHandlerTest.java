@@ -7,14 +7,20 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ec2.Ec2Client;
 import software.amazon.awssdk.services.ec2.model.*;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.*;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.amazonaws.ec2.localgatewayroute.EventGenerator.FIRST_POLLING_DELAY_SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,11 +35,6 @@ public class CreateHandlerTest extends TestBase {
     @Mock
     private Logger logger;
 
-    private final CreateLocalGatewayRouteResponse CREATE_LGW_ROUTE_TO_VIF_GROUP_RESPONSE = CreateLocalGatewayRouteResponse
-            .builder()
-            .route(ACTIVE_VIF_GROUP_ROUTE)
-            .build();
-
     private final CreateLocalGatewayRouteResponse CREATE_LGW_ROUTE_TO_ENI_RESPONSE = CreateLocalGatewayRouteResponse
             .builder()
             .route(ACTIVE_ENI_ROUTE)
@@ -62,21 +63,18 @@ public class CreateHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_CreateNotStarted_Success() {
-        Map<ResourceModel, SearchLocalGatewayRoutesResponse> modelResourceMap = new HashMap<ResourceModel, SearchLocalGatewayRoutesResponse>();
-        modelResourceMap.put(ACTIVE_VIF_GROUP_MODEL, ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
-        modelResourceMap.put(BLACKHOLE_VIF_GROUP_MODEL, BLACKHOLE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+        Map<ResourceModel, LocalGatewayRoute> modelRouteMap = new HashMap<ResourceModel, LocalGatewayRoute>();
+        modelRouteMap.put(ACTIVE_VIF_GROUP_MODEL, ACTIVE_VIF_GROUP_ROUTE);
+        modelRouteMap.put(BLACKHOLE_VIF_GROUP_MODEL, BLACKHOLE_VIF_GROUP_ROUTE);
 
-        modelResourceMap.forEach((model, searchRoutesResponse) -> {
+        modelRouteMap.forEach((model, createdRoute) -> {
             request.setDesiredResourceState(STARTING_VIF_GROUP_ROUTE_MODEL);
 
-            // first search call returns no route, confirms it doesnt exist, then create is called which will create the
-            // route, and then the second search will return the newly created route
-            Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
-                .thenReturn(EMPTY_SEARCH_LGW_ROUTES_RESPONSE, searchRoutesResponse);
+            // create returns the route already in a terminal state, so no search is needed
             Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any()))
-                .thenReturn(CREATE_LGW_ROUTE_TO_VIF_GROUP_RESPONSE);
+                .thenReturn(CreateLocalGatewayRouteResponse.builder().route(createdRoute).build());
 
-            final CreateHandler handler = new CreateHandler();
+            final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
             final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -90,27 +88,66 @@ public class CreateHandlerTest extends TestBase {
             assertThat(response.getMessage()).isNull();
             assertThat(response.getErrorCode()).isNull();
         });
-        verify(proxy, times(modelResourceMap.size()))
+        verify(proxy, times(modelRouteMap.size()))
                 .injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any());
+        verify(proxy, never())
+                .injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_CreatedPending_PollsWithoutExtraRead() {
+        request.setDesiredResourceState(STARTING_VIF_GROUP_ROUTE_MODEL);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any()))
+            .thenReturn(CreateLocalGatewayRouteResponse.builder().route(PENDING_VIF_GROUP_ROUTE).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new CreateHandler(new InvocationPoller(3, 1)).handleRequest(proxy, request, null, logger);
+
+        verify(proxy, times(1))
+            .injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(ACTIVE_VIF_GROUP_MODEL);
+    }
+
+    @Test
+    public void handleRequest_CreatedPending_PollingDisabled_InProgress() {
+        request.setDesiredResourceState(STARTING_VIF_GROUP_ROUTE_MODEL);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any()))
+            .thenReturn(CreateLocalGatewayRouteResponse.builder().route(PENDING_VIF_GROUP_ROUTE).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new CreateHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger);
+
+        verify(proxy, never())
+            .injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isCreateStarted()).isTrue();
+        assertThat(response.getResourceModel()).isEqualTo(PENDING_VIF_GROUP_MODEL);
     }
 
     @Test
     public void handleRequest_RouteAlreadyExists_Fails() {
-        Map<ResourceModel, SearchLocalGatewayRoutesResponse> modelResourceMap = new HashMap<ResourceModel, SearchLocalGatewayRoutesResponse>();
-        modelResourceMap.put(STARTING_VIF_GROUP_ROUTE_MODEL, ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
-        modelResourceMap.put(STARTING_VIF_GROUP_ROUTE_MODEL, BLACKHOLE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
-        modelResourceMap.put(STARTING_ENI_ROUTE_MODEL, ACTIVE_ENI_SEARCH_LGW_ROUTES_RESPONSE);
-        modelResourceMap.put(STARTING_ENI_ROUTE_MODEL, BLACKHOLE_ENI_SEARCH_LGW_ROUTES_RESPONSE);
+        final Ec2Exception routeAlreadyExistsException = (Ec2Exception) Ec2Exception
+            .builder()
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode("RouteAlreadyExists").build())
+            .build();
 
-        modelResourceMap.forEach((model, searchRoutesResponse) -> {
+        for (ResourceModel model : Arrays.asList(STARTING_VIF_GROUP_ROUTE_MODEL, STARTING_ENI_ROUTE_MODEL)) {
             request.setDesiredResourceState(model);
-            final CreateHandler handler = new CreateHandler();
+            final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
-            Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
-                .thenReturn(searchRoutesResponse);
+            // EC2 rejects the duplicate route, whatever state the existing one is in
+            Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any()))
+                .thenThrow(routeAlreadyExistsException);
 
             assertThrows(CfnAlreadyExistsException.class, () -> handler.handleRequest(proxy, request, null, logger));
-        });
+        }
+        verify(proxy, never())
+            .injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
     }
 
     @Test
@@ -138,7 +175,7 @@ public class CreateHandlerTest extends TestBase {
 
             request.setDesiredResourceState(model);
 
-            final CreateHandler handler = new CreateHandler();
+            final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
             final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -158,7 +195,7 @@ public class CreateHandlerTest extends TestBase {
     public void handleRequest_CreateStarted_Success() {
         request.setDesiredResourceState(PENDING_VIF_GROUP_MODEL);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
             .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
@@ -191,7 +228,7 @@ public class CreateHandlerTest extends TestBase {
 
         modelResourceMap.forEach((model, searchRoutesResponse) -> {
             request.setDesiredResourceState(model);
-            final CreateHandler handler = new CreateHandler();
+            final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
             Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
                 .thenReturn(searchRoutesResponse);
@@ -208,8 +245,9 @@ public class CreateHandlerTest extends TestBase {
 
             assertThat(response).isNotNull();
             assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-            assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-            assertThat(response.getCallbackDelaySeconds()).isEqualTo(CallbackContext.POLLING_DELAY_SECONDS);
+            assertThat(response.getCallbackContext().isCreateStarted()).isTrue();
+            assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+            assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
             assertThat(response.getResourceModel()).isEqualTo(model);
             assertThat(response.getResourceModels()).isNull();
             assertThat(response.getMessage()).isNull();
@@ -217,6 +255,47 @@ public class CreateHandlerTest extends TestBase {
         });
     }
 
+    @Test
+    public void handleRequest_ActiveWhilePolling_Success() {
+        request.setDesiredResourceState(PENDING_VIF_GROUP_MODEL);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(PENDING_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE, ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+
+        final CallbackContext inProgressContext = CallbackContext.builder()
+            .createStarted(true)
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new CreateHandler(new InvocationPoller(3, 1)).handleRequest(proxy, request, inProgressContext, logger);
+
+        verify(proxy, times(2))
+            .injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(ACTIVE_VIF_GROUP_MODEL);
+    }
+
+    @Test
+    public void handleRequest_StillPending_PollsLessOften() {
+        request.setDesiredResourceState(PENDING_VIF_GROUP_MODEL);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(PENDING_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+
+        final CallbackContext inProgressContext = CallbackContext.builder()
+            .createStarted(true)
+            .stabilizationAttempts(3)
+            .stabilizationStartedAt(System.currentTimeMillis())
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new CreateHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, inProgressContext, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isCreateStarted()).isTrue();
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(4);
+        assertThat(response.getCallbackContext().getStabilizationStartedAt()).isEqualTo(inProgressContext.getStabilizationStartedAt());
+        assertThat(response.getCallbackDelaySeconds()).isBetween(4, 8);
+    }
+
     @Test
     public void handleRequest_CreateStarted_Failed() {
         Map<ResourceModel, SearchLocalGatewayRoutesResponse> modelResourceMap = new HashMap<ResourceModel, SearchLocalGatewayRoutesResponse>();
@@ -226,7 +305,7 @@ public class CreateHandlerTest extends TestBase {
         modelResourceMap.forEach((model, searchRoutesResponse) -> {
             request.setDesiredResourceState(model);
 
-            final CreateHandler handler = new CreateHandler();
+            final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
             //create had started but somehow not in active or pending state
             Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
@@ -273,7 +352,7 @@ public class CreateHandlerTest extends TestBase {
 
             request.setDesiredResourceState(model);
 
-            final CreateHandler handler = new CreateHandler();
+            final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
             Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
                 .thenThrow(unauthorizedException);
@@ -300,39 +379,33 @@ public class CreateHandlerTest extends TestBase {
     }
 
     @Test
-    public void handleRequest_RoutePending_Fails() {
-        Map<ResourceModel, SearchLocalGatewayRoutesResponse> modelResourceMap = new HashMap<ResourceModel, SearchLocalGatewayRoutesResponse>();
-        modelResourceMap.put(STARTING_VIF_GROUP_ROUTE_MODEL, PENDING_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
-        modelResourceMap.put(STARTING_ENI_ROUTE_MODEL, PENDING_ENI_SERACH_LGW_ROUTES_RESPONSE);
-
-        modelResourceMap.forEach((model, searchRoutesResponse) -> {
-            request.setDesiredResourceState(model);
-
-            final CreateHandler handler = new CreateHandler();
-
-            Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
-                .thenReturn(searchRoutesResponse);
+    public void handleRequest_CreateStarted_ReadThrottled_InProgress() {
+        final Ec2Exception throttlingException = (Ec2Exception) Ec2Exception
+            .builder()
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode("RequestLimitExceeded").build())
+            .build();
 
-            assertThrows(CfnAlreadyExistsException.class, () -> handler.handleRequest(proxy, request, null, logger));
-        });
-    }
+        request.setDesiredResourceState(ACTIVE_VIF_GROUP_MODEL);
 
-    @Test
-    public void handleRequest_RouteDeleting_Fails() {
-        Map<ResourceModel, SearchLocalGatewayRoutesResponse> modelResourceMap = new HashMap<ResourceModel, SearchLocalGatewayRoutesResponse>();
-        modelResourceMap.put(STARTING_VIF_GROUP_ROUTE_MODEL, DELETING_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
-        modelResourceMap.put(STARTING_ENI_ROUTE_MODEL, DELETING_ENI_SEARCH_LGW_ROUTES_RESPONSE);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenThrow(throttlingException);
 
-        modelResourceMap.forEach((model, searchRoutesResponse) -> {
-            request.setDesiredResourceState(model);
+        final CallbackContext inProgressContext = CallbackContext.builder()
+            .createStarted(true)
+            .throttledAttempts(2)
+            .build();
 
-            final CreateHandler handler = new CreateHandler();
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new CreateHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, inProgressContext, logger);
 
-            Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
-                .thenReturn(searchRoutesResponse);
+        verify(proxy, times(0))
+            .injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any());
 
-            assertThrows(CfnAlreadyExistsException.class, () -> handler.handleRequest(proxy, request, null, logger));
-        });
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext()).isEqualTo(CallbackContext.builder().createStarted(true).throttledAttempts(3).build());
+        assertThat(response.getCallbackDelaySeconds()).isGreaterThanOrEqualTo(CallbackContext.POLLING_DELAY_SECONDS);
+        assertThat(response.getResourceModel()).isEqualTo(ACTIVE_VIF_GROUP_MODEL);
+        assertThat(response.getErrorCode()).isNull();
     }
 
     @Test
@@ -344,7 +417,7 @@ public class CreateHandlerTest extends TestBase {
                 .localGatewayVirtualInterfaceGroupId(LOCAL_GATEWAY_VIF_GROUP_ID)
                 .build());
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
             .thenReturn(EMPTY_SEARCH_LGW_ROUTES_RESPONSE, ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
@@ -359,7 +432,7 @@ public class CreateHandlerTest extends TestBase {
                 .localGatewayRouteTableId(LOCAL_GATEWAY_ROUTE_TABLE_ID)
                 .build());
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
                 .thenReturn(EMPTY_SEARCH_LGW_ROUTES_RESPONSE, ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
@@ -378,7 +451,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any()))
             .thenReturn(CREATE_LGW_ROUTE_TO_ENI_RESPONSE);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, null, logger);
@@ -400,7 +473,7 @@ public class CreateHandlerTest extends TestBase {
     public void handleRequest_CreateEniRouteStarted_Success() {
         request.setDesiredResourceState(PENDING_ENI_MODEL);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
             .thenReturn(ACTIVE_ENI_SEARCH_LGW_ROUTES_RESPONSE);
@@ -427,7 +500,7 @@ public class CreateHandlerTest extends TestBase {
 
     private void testReadOnlyProperty(ResourceModel invalidModel, String propertyName) {
         request.setDesiredResourceState(invalidModel);
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -451,4 +524,108 @@ public class CreateHandlerTest extends TestBase {
         testReadOnlyProperty(invalidModel.state("invalid").build(), "State");
         testReadOnlyProperty(invalidModel.type("invalid").build(), "Type");
     }
+
+    @Test
+    public void handleRequest_RouteInSnapshot_FailsWithoutCreate() {
+        request.setDesiredResourceState(STARTING_VIF_GROUP_ROUTE_MODEL);
+        final RouteTableSnapshotCache snapshots = snapshotOf(ACTIVE_VIF_GROUP_ROUTE);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+
+        assertThrows(CfnAlreadyExistsException.class,
+            () -> new CreateHandler(InvocationPoller.DISABLED, snapshots).handleRequest(proxy, request, null, logger));
+        verify(proxy, never())
+            .injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_RouteDeletedSinceSnapshot_Creates() {
+        request.setDesiredResourceState(STARTING_VIF_GROUP_ROUTE_MODEL);
+        final RouteTableSnapshotCache snapshots = snapshotOf(ACTIVE_VIF_GROUP_ROUTE);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(EMPTY_SEARCH_LGW_ROUTES_RESPONSE);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any()))
+            .thenReturn(CreateLocalGatewayRouteResponse.builder().route(ACTIVE_VIF_GROUP_ROUTE).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new CreateHandler(InvocationPoller.DISABLED, snapshots).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // The create changed the route table, so its snapshot is gone and the next use takes a new one
+        final AmazonWebServicesClientProxy nextProxy = mock(AmazonWebServicesClientProxy.class);
+        when(nextProxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(EMPTY_SEARCH_LGW_ROUTES_RESPONSE);
+        snapshots.routes(null, LOCAL_GATEWAY_ROUTE_TABLE_ID, nextProxy, mock(Ec2Client.class));
+        verify(nextProxy).injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_SnapshotsEnabled_TakesSnapshotBeforeCreate() {
+        request.setDesiredResourceState(STARTING_VIF_GROUP_ROUTE_MODEL);
+        final RouteTableSnapshotCache snapshots = new RouteTableSnapshotCache(Duration.ofMinutes(1), Clock.systemUTC());
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(buildSearchLgwRoutesResponse(Collections.singletonList(
+                ACTIVE_VIF_GROUP_ROUTE.toBuilder().destinationCidrBlock("10.0.0.0/8").build())));
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any()))
+            .thenReturn(CreateLocalGatewayRouteResponse.builder().route(ACTIVE_VIF_GROUP_ROUTE).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new CreateHandler(InvocationPoller.DISABLED, snapshots).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(logger).log(
+            "Route to 10.0.0.0/16 in " + LOCAL_GATEWAY_ROUTE_TABLE_ID + " overlaps 10.0.0.0/8 and 0 more specific route(s). Traffic follows the most specific route");
+        verify(proxy, times(1))
+            .injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_SnapshotSearchFails_StillCreates() {
+        request.setDesiredResourceState(STARTING_VIF_GROUP_ROUTE_MODEL);
+        final RouteTableSnapshotCache snapshots = new RouteTableSnapshotCache(Duration.ofMinutes(1), Clock.systemUTC());
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenThrow((Ec2Exception) Ec2Exception.builder().awsErrorDetails(AwsErrorDetails.builder().errorCode("RequestLimitExceeded").build()).build());
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any()))
+            .thenReturn(CreateLocalGatewayRouteResponse.builder().route(ACTIVE_VIF_GROUP_ROUTE).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new CreateHandler(InvocationPoller.DISABLED, snapshots).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_OverlapsRoutesInSnapshot_LogsAndCreates() {
+        request.setDesiredResourceState(STARTING_VIF_GROUP_ROUTE_MODEL);
+        final RouteTableSnapshotCache snapshots = snapshotOf(
+            ACTIVE_VIF_GROUP_ROUTE.toBuilder().destinationCidrBlock("10.0.0.0/8").build(),
+            ACTIVE_VIF_GROUP_ROUTE.toBuilder().destinationCidrBlock("10.0.1.0/24").build(),
+            ACTIVE_VIF_GROUP_ROUTE.toBuilder().destinationCidrBlock("10.1.0.0/16").build());
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteRequest.class), any()))
+            .thenReturn(CreateLocalGatewayRouteResponse.builder().route(ACTIVE_VIF_GROUP_ROUTE).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new CreateHandler(InvocationPoller.DISABLED, snapshots).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(logger).log(
+            "Route to 10.0.0.0/16 in " + LOCAL_GATEWAY_ROUTE_TABLE_ID + " overlaps 10.0.0.0/8 and 1 more specific route(s). Traffic follows the most specific route");
+        verify(proxy, never())
+            .injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+    }
+
+    private RouteTableSnapshotCache snapshotOf(final LocalGatewayRoute... routes) {
+        final AmazonWebServicesClientProxy snapshotProxy = mock(AmazonWebServicesClientProxy.class);
+        when(snapshotProxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(buildSearchLgwRoutesResponse(Arrays.asList(routes)));
+        final RouteTableSnapshotCache snapshots = new RouteTableSnapshotCache(Duration.ofMinutes(1), Clock.systemUTC());
+        snapshots.find(null, LOCAL_GATEWAY_ROUTE_TABLE_ID, DESTINATION_CIDR, snapshotProxy, mock(Ec2Client.class));
+        return snapshots;
+    }
 }
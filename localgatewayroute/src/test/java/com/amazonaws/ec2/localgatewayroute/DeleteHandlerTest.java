@@ -9,15 +9,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.services.ec2.model.DeleteLocalGatewayRouteRequest;
 import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRoute;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteState;
 import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesRequest;
 import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesResponse;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
-import static com.amazonaws.ec2.localgatewayroute.CallbackContext.POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.localgatewayroute.EventGenerator.FIRST_POLLING_DELAY_SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -52,9 +57,9 @@ public class DeleteHandlerTest extends TestBase {
     @Test
     public void handleRequest_DeleteNotStarted_Success() {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
-            .thenReturn(EMPTY_SEARCH_LGW_ROUTES_RESPONSE);
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE, EMPTY_SEARCH_LGW_ROUTES_RESPONSE);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, null, logger);
@@ -88,10 +93,12 @@ public class DeleteHandlerTest extends TestBase {
                 .awsErrorDetails(errorDetails)
                 .build();
 
+            Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
             when(proxy.injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteRequest.class), any()))
                 .thenThrow(notFoundException);
 
-            final DeleteHandler handler = new DeleteHandler();
+            final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
             final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, model, null, logger);
@@ -124,10 +131,12 @@ public class DeleteHandlerTest extends TestBase {
                 .awsErrorDetails(errorDetails)
                 .build();
 
+            Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
             when(proxy.injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteRequest.class), any()))
                 .thenThrow(notFoundException);
 
-            final DeleteHandler handler = new DeleteHandler();
+            final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
             final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, model, null, logger);
@@ -143,12 +152,90 @@ public class DeleteHandlerTest extends TestBase {
         });
     }
 
+    @Test
+    public void handleRequest_DeletedWhilePolling_Success() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE, ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE, EMPTY_SEARCH_LGW_ROUTES_RESPONSE);
+
+        final DeleteHandler handler = new DeleteHandler(new InvocationPoller(3, 1));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy, times(3))
+            .injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+    }
+
+    @Test
+    public void handleRequest_DeletedStateWhilePolling_Success() {
+        final LocalGatewayRoute deletedRoute = DELETING_VIF_GROUP_ROUTE.toBuilder().state(LocalGatewayRouteState.DELETED).build();
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(DELETING_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE, buildSearchLgwRoutesResponse(Collections.singletonList(deletedRoute)));
+
+        final DeleteHandler handler = new DeleteHandler(new InvocationPoller(3, 1));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        // Done as soon as the route is reported deleted, without waiting for EC2 to stop reporting it
+        verify(proxy, times(2))
+            .injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel()).isNull();
+    }
+
+    @Test
+    public void handleRequest_AlreadyDeleted_NotFound() {
+        final LocalGatewayRoute deletedRoute = DELETING_VIF_GROUP_ROUTE.toBuilder().state(LocalGatewayRouteState.DELETED).build();
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(buildSearchLgwRoutesResponse(Collections.singletonList(deletedRoute)));
+
+        // A second delete of a route EC2 still reports as deleted does not delete it again
+        assertThrows(CfnNotFoundException.class, () -> new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger));
+        verify(proxy, never())
+            .injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_DeletedThenDeletedAgain_NotFound() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE, EMPTY_SEARCH_LGW_ROUTES_RESPONSE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThrows(CfnNotFoundException.class, () -> new ReadHandler().handleRequest(proxy, request, null, logger));
+        assertThrows(CfnNotFoundException.class, () -> new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger));
+        verify(proxy, times(1))
+            .injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_PollingDisabled_InProgress() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy, times(2))
+            .injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isDeleteStarted()).isTrue();
+    }
+
     @Test
     public void handleRequest_InProgress() {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
             .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, null, logger);
@@ -158,8 +245,9 @@ public class DeleteHandlerTest extends TestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().isDeleteStarted()).isTrue();
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(ACTIVE_VIF_GROUP_MODEL);
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -176,7 +264,7 @@ public class DeleteHandlerTest extends TestBase {
             Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
                 .thenReturn(searchRoutesResponse);
 
-            final DeleteHandler handler = new DeleteHandler();
+            final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
             final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, model, inProgressContext, logger);
@@ -214,7 +302,7 @@ public class DeleteHandlerTest extends TestBase {
             Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
                 .thenThrow(unexpectedException);
 
-            final DeleteHandler handler = new DeleteHandler();
+            final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
             final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, modelRequest, inProgressContext, logger);
@@ -230,12 +318,34 @@ public class DeleteHandlerTest extends TestBase {
         });
     }
 
+    @Test
+    public void handleRequest_DeleteThrottled_InProgress() {
+        final Ec2Exception throttlingException = (Ec2Exception) Ec2Exception
+            .builder()
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode("RequestLimitExceeded").build())
+            .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteRequest.class), any()))
+            .thenThrow(throttlingException);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger);
+
+        // Delete has not started, so the next invocation tries the delete again
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext()).isEqualTo(CallbackContext.builder().throttledAttempts(1).build());
+        assertThat(response.getCallbackDelaySeconds()).isGreaterThan(0);
+        assertThat(response.getErrorCode()).isNull();
+    }
+
     @Test
     public void handleRequest_EniRouteDeleteNotStarted_Success() {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
-            .thenReturn(EMPTY_SEARCH_LGW_ROUTES_RESPONSE);
+            .thenReturn(ACTIVE_ENI_SEARCH_LGW_ROUTES_RESPONSE, EMPTY_SEARCH_LGW_ROUTES_RESPONSE);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, requestForEniRoute, null, logger);
@@ -258,7 +368,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
             .thenReturn(ACTIVE_ENI_SEARCH_LGW_ROUTES_RESPONSE);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, requestForEniRoute, null, logger);
@@ -268,8 +378,9 @@ public class DeleteHandlerTest extends TestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().isDeleteStarted()).isTrue();
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(ACTIVE_ENI_MODEL);
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -0,0 +1,463 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import org.mockito.Mockito;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteRequest;
+import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteResponse;
+import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteTableRequest;
+import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteTableResponse;
+import software.amazon.awssdk.services.ec2.model.DeleteLocalGatewayRouteRequest;
+import software.amazon.awssdk.services.ec2.model.DeleteLocalGatewayRouteResponse;
+import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTablesRequest;
+import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTablesResponse;
+import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.ec2.model.Filter;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRoute;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteTable;
+import software.amazon.awssdk.services.ec2.model.ModifyLocalGatewayRouteRequest;
+import software.amazon.awssdk.services.ec2.model.ModifyLocalGatewayRouteResponse;
+import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesRequest;
+import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+
+/*
+ * In-memory stand-in for the parts of EC2 the route handlers call: local gateway route tables and their routes.
+ * Handlers are pointed at it through proxy(), which answers every call the handlers make from this fake rather than
+ * from the client they pass, so whole create, read, update, delete and list workflows can be run, timed and counted
+ * without AWS. Route tables can only be created, to give the routes somewhere to live.
+ *
+ * New resources stay pending, and deleted ones deleting, for the transition delay. Deleted resources are then shown in
+ * their final state for the terminal state retention before they disappear. Time only moves when advance() is called,
+ * unless the fake is given a real clock. Errors can be injected per operation, and every Nth call can be throttled.
+ */
+class FakeEc2Client implements Ec2Client {
+    static final String OWNER_ID = "123456789012";
+    static final String OUTPOST_ARN = "arn:aws:outposts:us-west-2:" + OWNER_ID + ":outpost/op-0123456789abcdef0";
+
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+    private static final String ANY_OPERATION = "*";
+
+    private final Clock clock;
+    private long advancedMillis;
+    private Duration transitionDelay = Duration.ZERO;
+    private Duration terminalStateRetention = Duration.ZERO;
+    private int throttleEveryNthCall;
+    private long nextId = 1;
+
+    private final Map<String, Integer> calls = new HashMap<>();
+    private int totalCalls;
+    private final Map<String, Deque<String>> injectedErrors = new HashMap<>();
+
+    private final Map<String, RouteTableRecord> routeTables = new LinkedHashMap<>();
+    private final Map<String, RouteRecord> routes = new LinkedHashMap<>();
+
+    FakeEc2Client() {
+        this(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+    }
+
+    FakeEc2Client(final Clock clock) {
+        this.clock = clock;
+    }
+
+    // A handler proxy that makes every call against this fake
+    AmazonWebServicesClientProxy proxy() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(AwsRequest.class), any()))
+            .thenAnswer(invocation -> invoke(invocation.getArgument(0)));
+        return proxy;
+    }
+
+    synchronized void advance(final Duration duration) {
+        advancedMillis += duration.toMillis();
+    }
+
+    synchronized void setTransitionDelay(final Duration transitionDelay) {
+        this.transitionDelay = transitionDelay;
+    }
+
+    synchronized void setTerminalStateRetention(final Duration terminalStateRetention) {
+        this.terminalStateRetention = terminalStateRetention;
+    }
+
+    // Every Nth call fails with RequestLimitExceeded, 0 for none
+    synchronized void throttleEveryNthCall(final int n) {
+        this.throttleEveryNthCall = n;
+    }
+
+    // The next call of the operation, such as "CreateTags", or of any operation for "*", fails with the error code
+    synchronized void failNextCall(final String operation, final String errorCode) {
+        injectedErrors.computeIfAbsent(operation, key -> new ArrayDeque<>()).add(errorCode);
+    }
+
+    synchronized int getCalls(final String operation) {
+        return calls.getOrDefault(operation, 0);
+    }
+
+    synchronized int getTotalCalls() {
+        return totalCalls;
+    }
+
+    synchronized void resetCalls() {
+        calls.clear();
+        totalCalls = 0;
+    }
+
+    AwsResponse invoke(final AwsRequest request) {
+        if (request instanceof CreateLocalGatewayRouteTableRequest) {
+            return createLocalGatewayRouteTable((CreateLocalGatewayRouteTableRequest) request);
+        } else if (request instanceof DescribeLocalGatewayRouteTablesRequest) {
+            return describeLocalGatewayRouteTables((DescribeLocalGatewayRouteTablesRequest) request);
+        } else if (request instanceof CreateLocalGatewayRouteRequest) {
+            return createLocalGatewayRoute((CreateLocalGatewayRouteRequest) request);
+        } else if (request instanceof DeleteLocalGatewayRouteRequest) {
+            return deleteLocalGatewayRoute((DeleteLocalGatewayRouteRequest) request);
+        } else if (request instanceof ModifyLocalGatewayRouteRequest) {
+            return modifyLocalGatewayRoute((ModifyLocalGatewayRouteRequest) request);
+        } else if (request instanceof SearchLocalGatewayRoutesRequest) {
+            return searchLocalGatewayRoutes((SearchLocalGatewayRoutesRequest) request);
+        }
+        throw new UnsupportedOperationException(request.getClass().getSimpleName() + " is not faked");
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    // Route tables
+
+    @Override
+    public synchronized CreateLocalGatewayRouteTableResponse createLocalGatewayRouteTable(final CreateLocalGatewayRouteTableRequest request) {
+        beforeCall(request);
+        final RouteTableRecord routeTable = new RouteTableRecord(newId("lgw-rtb-"), request.localGatewayId(), request.modeAsString(), now());
+        routeTables.put(routeTable.id, routeTable);
+        return CreateLocalGatewayRouteTableResponse.builder().localGatewayRouteTable(routeTable.toSdk()).build();
+    }
+
+    @Override
+    public synchronized DescribeLocalGatewayRouteTablesResponse describeLocalGatewayRouteTables(final DescribeLocalGatewayRouteTablesRequest request) {
+        beforeCall(request);
+        final Page<LocalGatewayRouteTable> page = describe(routeTables, request.localGatewayRouteTableIds(), request.filters(),
+            request.maxResults(), request.nextToken());
+        return DescribeLocalGatewayRouteTablesResponse.builder().localGatewayRouteTables(page.items).nextToken(page.nextToken).build();
+    }
+
+    // Routes
+
+    @Override
+    public synchronized CreateLocalGatewayRouteResponse createLocalGatewayRoute(final CreateLocalGatewayRouteRequest request) {
+        beforeCall(request);
+        requireRouteTable(request.localGatewayRouteTableId());
+        final String key = routeKey(request.localGatewayRouteTableId(), request.destinationCidrBlock());
+        final RouteRecord existing = routes.get(key);
+        if (existing != null && existing.isVisible() && existing.deletedAt == null) {
+            throw error("RouteAlreadyExists", 400);
+        }
+        final RouteRecord route = new RouteRecord(request.localGatewayRouteTableId(), request.destinationCidrBlock(),
+            request.localGatewayVirtualInterfaceGroupId(), request.networkInterfaceId(), now());
+        routes.put(key, route);
+        return CreateLocalGatewayRouteResponse.builder().route(route.toSdk()).build();
+    }
+
+    @Override
+    public synchronized DeleteLocalGatewayRouteResponse deleteLocalGatewayRoute(final DeleteLocalGatewayRouteRequest request) {
+        beforeCall(request);
+        final RouteRecord route = requireRoute(request.localGatewayRouteTableId(), request.destinationCidrBlock());
+        route.delete();
+        return DeleteLocalGatewayRouteResponse.builder().route(route.toSdk()).build();
+    }
+
+    @Override
+    public synchronized ModifyLocalGatewayRouteResponse modifyLocalGatewayRoute(final ModifyLocalGatewayRouteRequest request) {
+        beforeCall(request);
+        final RouteRecord route = requireRoute(request.localGatewayRouteTableId(), request.destinationCidrBlock());
+        route.localGatewayVirtualInterfaceGroupId = request.localGatewayVirtualInterfaceGroupId();
+        route.networkInterfaceId = request.networkInterfaceId();
+        // The route is pending again until the new target is in use
+        route.createdAt = now();
+        return ModifyLocalGatewayRouteResponse.builder().route(route.toSdk()).build();
+    }
+
+    @Override
+    public synchronized SearchLocalGatewayRoutesResponse searchLocalGatewayRoutes(final SearchLocalGatewayRoutesRequest request) {
+        beforeCall(request);
+        requireRouteTable(request.localGatewayRouteTableId());
+        final Map<String, RouteRecord> routesOfTable = new LinkedHashMap<>();
+        for (final RouteRecord route : routes.values()) {
+            if (route.localGatewayRouteTableId.equals(request.localGatewayRouteTableId())) {
+                routesOfTable.put(route.destinationCidrBlock, route);
+            }
+        }
+        final Page<LocalGatewayRoute> page = describe(routesOfTable, null, request.filters(), request.maxResults(), request.nextToken());
+        return SearchLocalGatewayRoutesResponse.builder().routes(page.items).nextToken(page.nextToken).build();
+    }
+
+    private void beforeCall(final AwsRequest request) {
+        final String operation = request.getClass().getSimpleName().replaceFirst("Request$", "");
+        calls.merge(operation, 1, Integer::sum);
+        totalCalls++;
+        for (final String key : new String[] {operation, ANY_OPERATION}) {
+            final Deque<String> errors = injectedErrors.get(key);
+            if (errors != null && !errors.isEmpty()) {
+                final String errorCode = errors.poll();
+                throw error(errorCode, errorCode.startsWith("Invalid") || errorCode.endsWith("AlreadyExists") ? 400 : 503);
+            }
+        }
+        if (throttleEveryNthCall > 0 && totalCalls % throttleEveryNthCall == 0) {
+            throw error("RequestLimitExceeded", 503);
+        }
+    }
+
+    private static Ec2Exception error(final String errorCode, final int statusCode) {
+        final String message = "Fake EC2 error " + errorCode;
+        return (Ec2Exception) Ec2Exception.builder()
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).errorMessage(message).build())
+            .statusCode(statusCode)
+            .message(message)
+            .build();
+    }
+
+    private long now() {
+        return clock.millis() + advancedMillis;
+    }
+
+    private String newId(final String prefix) {
+        return prefix + String.format("%017x", nextId++);
+    }
+
+    private RouteTableRecord requireRouteTable(final String localGatewayRouteTableId) {
+        final RouteTableRecord routeTable = routeTables.get(localGatewayRouteTableId);
+        if (routeTable == null || !routeTable.isVisible() || routeTable.deletedAt != null) {
+            throw error("InvalidLocalGatewayRouteTableID.NotFound", 400);
+        }
+        return routeTable;
+    }
+
+    private RouteRecord requireRoute(final String localGatewayRouteTableId, final String destinationCidrBlock) {
+        requireRouteTable(localGatewayRouteTableId);
+        final RouteRecord route = routes.get(routeKey(localGatewayRouteTableId, destinationCidrBlock));
+        if (route == null || !route.isVisible() || route.deletedAt != null) {
+            throw error("InvalidRoute.NotFound", 400);
+        }
+        return route;
+    }
+
+    private static String routeKey(final String localGatewayRouteTableId, final String destinationCidrBlock) {
+        return localGatewayRouteTableId + '/' + destinationCidrBlock;
+    }
+
+    // Resources with any of the IDs, if given, that match every filter, a page at a time. Resources past their
+    // terminal state retention are dropped on the way
+    private <T> Page<T> describe(
+        final Map<String, ? extends Lifecycle> resources,
+        final Collection<String> ids,
+        final List<Filter> filters,
+        final Integer maxResults,
+        final String nextToken) {
+        final List<T> matches = new ArrayList<>();
+        final Iterator<? extends Map.Entry<String, ? extends Lifecycle>> entries = resources.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Lifecycle resource = entries.next().getValue();
+            if (!resource.isVisible()) {
+                entries.remove();
+                continue;
+            }
+            if ((ids == null || ids.isEmpty() || ids.contains(resource.id)) && matchesAll(resource, filters)) {
+                @SuppressWarnings("unchecked")
+                final T item = (T) resource.toSdk();
+                matches.add(item);
+            }
+        }
+        final int start;
+        try {
+            start = nextToken == null ? 0 : Integer.parseInt(nextToken.substring("page-".length()));
+        } catch (RuntimeException e) {
+            throw error("InvalidNextToken", 400);
+        }
+        final int end = Math.min(matches.size(), start + (maxResults == null ? DEFAULT_PAGE_SIZE : maxResults));
+        return new Page<>(new ArrayList<>(matches.subList(Math.min(start, end), end)), end < matches.size() ? "page-" + end : null);
+    }
+
+    private boolean matchesAll(final Lifecycle resource, final List<Filter> filters) {
+        final Map<String, String> attributes = resource.filterAttributes();
+        for (final Filter filter : filters) {
+            final String value;
+            if (attributes.containsKey(filter.name())) {
+                value = attributes.get(filter.name());
+            } else {
+                throw error("InvalidParameterValue", 400);
+            }
+            if (!filter.values().contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Page<T> {
+        private final List<T> items;
+        private final String nextToken;
+
+        private Page(final List<T> items, final String nextToken) {
+            this.items = items;
+            this.nextToken = nextToken;
+        }
+    }
+
+    private abstract class Lifecycle {
+        final String id;
+        long createdAt;
+        Long deletedAt;
+
+        Lifecycle(final String id, final long createdAt) {
+            this.id = id;
+            this.createdAt = createdAt;
+        }
+
+        void delete() {
+            if (deletedAt == null) {
+                deletedAt = now();
+            }
+        }
+
+        boolean isVisible() {
+            return deletedAt == null || now() < deletedAt + transitionDelay.toMillis() + terminalStateRetention.toMillis();
+        }
+
+        String state(final String starting, final String ready, final String stopping, final String stopped) {
+            if (deletedAt == null) {
+                return now() < createdAt + transitionDelay.toMillis() ? starting : ready;
+            }
+            return now() < deletedAt + transitionDelay.toMillis() ? stopping : stopped;
+        }
+
+        abstract String state();
+
+        abstract Object toSdk();
+
+        abstract Map<String, String> filterAttributes();
+    }
+
+    private final class RouteTableRecord extends Lifecycle {
+        private final String localGatewayId;
+        private final String mode;
+
+        private RouteTableRecord(final String id, final String localGatewayId, final String mode, final long createdAt) {
+            super(id, createdAt);
+            this.localGatewayId = localGatewayId;
+            this.mode = mode;
+        }
+
+        private String arn() {
+            return "arn:aws:ec2:us-west-2:" + OWNER_ID + ":local-gateway-route-table/" + id;
+        }
+
+        @Override
+        String state() {
+            return state("pending", "available", "deleting", "deleted");
+        }
+
+        @Override
+        LocalGatewayRouteTable toSdk() {
+            return LocalGatewayRouteTable.builder()
+                .localGatewayRouteTableId(id)
+                .localGatewayRouteTableArn(arn())
+                .localGatewayId(localGatewayId)
+                .outpostArn(OUTPOST_ARN)
+                .ownerId(OWNER_ID)
+                .mode(mode)
+                .state(state())
+                .build();
+        }
+
+        @Override
+        Map<String, String> filterAttributes() {
+            final Map<String, String> attributes = new HashMap<>();
+            attributes.put("local-gateway-route-table-id", id);
+            attributes.put("local-gateway-route-table-arn", arn());
+            attributes.put("local-gateway-id", localGatewayId);
+            attributes.put("outpost-arn", OUTPOST_ARN);
+            attributes.put("owner-id", OWNER_ID);
+            attributes.put("state", state());
+            return attributes;
+        }
+    }
+
+    private final class RouteRecord extends Lifecycle {
+        private final String localGatewayRouteTableId;
+        private final String destinationCidrBlock;
+        private String localGatewayVirtualInterfaceGroupId;
+        private String networkInterfaceId;
+
+        private RouteRecord(
+            final String localGatewayRouteTableId,
+            final String destinationCidrBlock,
+            final String localGatewayVirtualInterfaceGroupId,
+            final String networkInterfaceId,
+            final long createdAt) {
+            super(routeKey(localGatewayRouteTableId, destinationCidrBlock), createdAt);
+            this.localGatewayRouteTableId = localGatewayRouteTableId;
+            this.destinationCidrBlock = destinationCidrBlock;
+            this.localGatewayVirtualInterfaceGroupId = localGatewayVirtualInterfaceGroupId;
+            this.networkInterfaceId = networkInterfaceId;
+        }
+
+        @Override
+        String state() {
+            return state("pending", "active", "deleting", "deleted");
+        }
+
+        @Override
+        LocalGatewayRoute toSdk() {
+            return LocalGatewayRoute.builder()
+                .localGatewayRouteTableId(localGatewayRouteTableId)
+                .localGatewayRouteTableArn(routeTables.get(localGatewayRouteTableId).arn())
+                .destinationCidrBlock(destinationCidrBlock)
+                .localGatewayVirtualInterfaceGroupId(localGatewayVirtualInterfaceGroupId)
+                .networkInterfaceId(networkInterfaceId)
+                .ownerId(OWNER_ID)
+                .type("static")
+                .state(state())
+                .build();
+        }
+
+        @Override
+        Map<String, String> filterAttributes() {
+            final Map<String, String> attributes = new HashMap<>();
+            attributes.put("route-search.exact-match", destinationCidrBlock);
+            attributes.put("destination-cidr-block", destinationCidrBlock);
+            attributes.put("local-gateway-route-table-id", localGatewayRouteTableId);
+            attributes.put("local-gateway-virtual-interface-group-id", localGatewayVirtualInterfaceGroupId);
+            attributes.put("network-interface-id", networkInterfaceId);
+            attributes.put("owner-id", OWNER_ID);
+            attributes.put("type", "static");
+            attributes.put("state", state());
+            return attributes;
+        }
+    }
+
+}
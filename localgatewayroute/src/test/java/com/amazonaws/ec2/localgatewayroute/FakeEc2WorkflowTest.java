@@ -0,0 +1,122 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteTableRequest;
+import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class FakeEc2WorkflowTest {
+    private static final String DESTINATION_CIDR = "10.0.0.0/16";
+    private static final String VIF_GROUP_ID = "lgw-vif-grp-12345678912345678";
+    private static final String OTHER_VIF_GROUP_ID = "lgw-vif-grp-87654321987654321";
+    private static final int MAX_INVOCATIONS = 20;
+
+    private FakeEc2Client ec2;
+    private AmazonWebServicesClientProxy proxy;
+    private String routeTableId;
+
+    @BeforeEach
+    public void setup() {
+        ec2 = new FakeEc2Client();
+        proxy = ec2.proxy();
+        routeTableId = ec2.createLocalGatewayRouteTable(CreateLocalGatewayRouteTableRequest.builder().localGatewayId("lgw-12345678912345678").build())
+            .localGatewayRouteTable()
+            .localGatewayRouteTableId();
+        ec2.setTransitionDelay(Duration.ofSeconds(5));
+        ec2.resetCalls();
+    }
+
+    @Test
+    public void testCreateReadUpdateListDelete() {
+        final ResourceModel desired = ResourceModel.builder()
+            .localGatewayRouteTableId(routeTableId)
+            .destinationCidrBlock(DESTINATION_CIDR)
+            .localGatewayVirtualInterfaceGroupId(VIF_GROUP_ID)
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> created = run(
+            new CreateHandler(InvocationPoller.DISABLED, RouteTableSnapshotCache.DISABLED), request(desired));
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(created.getResourceModel().getState()).isEqualTo("active");
+
+        final ResourceModel read = new ReadHandler(RouteTableSnapshotCache.DISABLED)
+            .handleRequest(proxy, request(desired), null, logger())
+            .getResourceModel();
+        assertThat(read).isEqualTo(created.getResourceModel());
+
+        final ResourceModel updated = ResourceModel.builder()
+            .localGatewayRouteTableId(routeTableId)
+            .destinationCidrBlock(DESTINATION_CIDR)
+            .localGatewayVirtualInterfaceGroupId(OTHER_VIF_GROUP_ID)
+            .build();
+        final ProgressEvent<ResourceModel, CallbackContext> modified = run(new UpdateHandler(InvocationPoller.DISABLED), request(updated));
+        assertThat(modified.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(modified.getResourceModel().getState()).isEqualTo("active");
+        assertThat(ec2.getCalls("ModifyLocalGatewayRoute")).isEqualTo(1);
+
+        final ProgressEvent<ResourceModel, CallbackContext> listed = new ListHandler(RouteTableIdCache.DISABLED)
+            .handleRequest(proxy, request(ResourceModel.builder().build()), null, logger());
+        assertThat(listed.getResourceModels())
+            .extracting(ResourceModel::getLocalGatewayVirtualInterfaceGroupId)
+            .containsExactly(OTHER_VIF_GROUP_ID);
+
+        final ProgressEvent<ResourceModel, CallbackContext> deleted = run(new DeleteHandler(InvocationPoller.DISABLED), request(updated));
+        assertThat(deleted.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(new ListHandler(RouteTableIdCache.DISABLED)
+            .handleRequest(proxy, request(ResourceModel.builder().build()), null, logger())
+            .getResourceModels()).isEmpty();
+    }
+
+    @Test
+    public void testCreateOfExistingRouteFails() {
+        final ResourceModel desired = ResourceModel.builder()
+            .localGatewayRouteTableId(routeTableId)
+            .destinationCidrBlock(DESTINATION_CIDR)
+            .localGatewayVirtualInterfaceGroupId(VIF_GROUP_ID)
+            .build();
+        run(new CreateHandler(InvocationPoller.DISABLED, RouteTableSnapshotCache.DISABLED), request(desired));
+
+        assertThatThrownBy(() -> new CreateHandler(InvocationPoller.DISABLED, RouteTableSnapshotCache.DISABLED)
+            .handleRequest(proxy, request(desired), null, logger()))
+            .isInstanceOf(CfnAlreadyExistsException.class);
+        assertThat(ec2.getCalls("CreateLocalGatewayRoute")).isEqualTo(2);
+    }
+
+    // Invokes the handler the way CloudFormation does, again after each IN_PROGRESS event with the context and model
+    // it returned, letting the requested callback delay pass on the fake's clock in between
+    private ProgressEvent<ResourceModel, CallbackContext> run(
+        final BaseHandler<CallbackContext> handler,
+        final ResourceHandlerRequest<ResourceModel> request) {
+        ProgressEvent<ResourceModel, CallbackContext> event = handler.handleRequest(proxy, request, null, logger());
+        for (int invocations = 1; event.getStatus() == OperationStatus.IN_PROGRESS && invocations < MAX_INVOCATIONS; invocations++) {
+            ec2.advance(Duration.ofSeconds(Math.max(1, event.getCallbackDelaySeconds())));
+            final ResourceModel model = event.getResourceModel() == null ? request.getDesiredResourceState() : event.getResourceModel();
+            event = handler.handleRequest(proxy, request(model), event.getCallbackContext(), logger());
+        }
+        return event;
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId(FakeEc2Client.OWNER_ID)
+            .region("us-west-2")
+            .desiredResourceState(model)
+            .build();
+    }
+
+    // Each invocation has a logger of its own, which is what marks the start of its time budget
+    private static Logger logger() {
+        return mock(Logger.class);
+    }
+}
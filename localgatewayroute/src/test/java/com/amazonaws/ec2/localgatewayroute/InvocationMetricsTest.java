@@ -0,0 +1,102 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class InvocationMetricsTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    public void testToEmfLine_AddsUpCalls() {
+        InvocationMetrics metrics = new InvocationMetrics();
+        CallMetrics throttledCall = new CallMetrics("SearchLocalGatewayRoutes", 0);
+        throttledCall.attemptStarted(10 * MILLIS);
+        throttledCall.attemptFinished(40 * MILLIS);
+        throttledCall.failedAttemptClassified(true);
+        throttledCall.attemptStarted(240 * MILLIS);
+        throttledCall.attemptFinished(260 * MILLIS);
+        metrics.record(throttledCall, 270 * MILLIS, false);
+        CallMetrics call = new CallMetrics("CreateLocalGatewayRoute", 0);
+        call.attemptStarted(0);
+        call.attemptFinished(30 * MILLIS);
+        metrics.record(call, 30 * MILLIS, false);
+
+        assertThat(metrics.toEmfLine(1577836800000L)).isEqualTo(
+            "{\"_aws\":{\"Timestamp\":1577836800000,\"CloudWatchMetrics\":[{\"Namespace\":\"" + CallMetrics.NAMESPACE + "\"," +
+                "\"Dimensions\":[[\"ResourceType\"]],\"Metrics\":[" +
+                "{\"Name\":\"Calls\",\"Unit\":\"Count\"}," +
+                "{\"Name\":\"Attempts\",\"Unit\":\"Count\"}," +
+                "{\"Name\":\"Throttles\",\"Unit\":\"Count\"}," +
+                "{\"Name\":\"FailedCalls\",\"Unit\":\"Count\"}," +
+                "{\"Name\":\"AttemptLatency\",\"Unit\":\"Milliseconds\"}," +
+                "{\"Name\":\"CallLatency\",\"Unit\":\"Milliseconds\"}," +
+                "{\"Name\":\"RetryDelay\",\"Unit\":\"Milliseconds\"}]}]}," +
+                "\"ResourceType\":\"" + ResourceModel.TYPE_NAME + "\",\"Calls\":2,\"Attempts\":3,\"Throttles\":1,\"FailedCalls\":0," +
+                "\"AttemptLatency\":{\"Values\":[20,30],\"Counts\":[1,2]}," +
+                "\"CallLatency\":{\"Values\":[30,270],\"Counts\":[1,1]}," +
+                "\"RetryDelay\":{\"Values\":[0,220],\"Counts\":[1,1]}," +
+                "\"Operations\":{\"CreateLocalGatewayRoute\":1,\"SearchLocalGatewayRoutes\":1}}");
+    }
+
+    @Test
+    public void testToEmfLine_NoCalls_NoLine() {
+        assertThat(new InvocationMetrics().toEmfLine(0)).isNull();
+    }
+
+    @Test
+    public void testToEmfLine_ManyDistinctLatencies_Capped() {
+        InvocationMetrics metrics = new InvocationMetrics();
+        for (int i = 0; i < 2 * InvocationMetrics.MAX_HISTOGRAM_VALUES; i++) {
+            CallMetrics call = new CallMetrics("DescribeLocalGatewayRouteTables", 0);
+            metrics.record(call, i * MILLIS, false);
+        }
+
+        String line = metrics.toEmfLine(0);
+        Matcher callLatencies = Pattern.compile("\"CallLatency\":\\{\"Values\":\\[([0-9,]*)]").matcher(line);
+        assertThat(callLatencies.find()).isTrue();
+        assertThat(callLatencies.group(1).split(",")).hasSize(InvocationMetrics.MAX_HISTOGRAM_VALUES);
+        assertThat(line).contains("\"Calls\":" + 2 * InvocationMetrics.MAX_HISTOGRAM_VALUES);
+    }
+
+    @Test
+    public void testPublishAfter_NestedHandlers_PublishedOnce() {
+        Logger logger = mock(Logger.class);
+
+        InvocationMetrics.publishAfter(logger, () -> {
+            InvocationMetrics.of(logger).record(new CallMetrics("SearchLocalGatewayRoutes", 0), MILLIS, false);
+            // A nested read, as Create, Update and Delete do
+            InvocationMetrics.publishAfter(logger, () -> {
+                InvocationMetrics.of(logger).record(new CallMetrics("SearchLocalGatewayRoutes", 0), MILLIS, false);
+                return null;
+            });
+            verifyZeroInteractions(logger);
+            return null;
+        });
+
+        verify(logger, times(1)).log(anyString());
+        verify(logger).log(contains("\"Calls\":2"));
+        // The next invocation starts afresh
+        assertThat(InvocationMetrics.of(logger).getCalls()).isEqualTo(0);
+    }
+
+    @Test
+    public void testPublishAfter_NoCalls_NothingLogged() {
+        Logger logger = mock(Logger.class);
+
+        InvocationMetrics.publishAfter(logger, () -> null);
+
+        verifyZeroInteractions(logger);
+    }
+}
@@ -0,0 +1,34 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class InvocationPollerTest {
+
+    @Test
+    public void testAwaitNextPoll_StopsAfterMaxPolls() {
+        final InvocationPoller poller = new InvocationPoller(2, 1);
+        final Logger logger = mock(Logger.class);
+
+        assertThat(poller.awaitNextPoll(0, logger)).isTrue();
+        assertThat(poller.awaitNextPoll(1, logger)).isTrue();
+        assertThat(poller.awaitNextPoll(2, logger)).isFalse();
+    }
+
+    @Test
+    public void testAwaitNextPoll_Disabled() {
+        assertThat(InvocationPoller.DISABLED.awaitNextPoll(0, mock(Logger.class))).isFalse();
+    }
+
+    @Test
+    public void testAwaitNextPoll_NotEnoughTimeLeft() {
+        final InvocationPoller poller = new InvocationPoller(1, ClientBuilder.HANDLER_TIMEOUT.toMillis());
+
+        final long start = System.currentTimeMillis();
+        assertThat(poller.awaitNextPoll(0, mock(Logger.class))).isFalse();
+        assertThat(System.currentTimeMillis() - start).isLessThan(1_000L);
+    }
+}
@@ -10,17 +10,30 @@ import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTablesRequest;
 import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTablesResponse;
 import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRoute;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteState;
 import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesRequest;
 import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesResponse;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.*;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static com.amazonaws.ec2.localgatewayroute.Translator.createModelFromRoute;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest extends TestBase {
@@ -39,7 +52,7 @@ public class ListHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_SimpleSuccess() {
-        final ListHandler handler = new ListHandler();
+        final ListHandler handler = new ListHandler(RouteTableIdCache.DISABLED);
 
         final ResourceModel model = ResourceModel.builder().build();
 
@@ -72,9 +85,9 @@ public class ListHandlerTest extends TestBase {
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
             .thenReturn(describeLocalGatewayRouteTablesResponsewithToken, describeLocalGatewayRouteTablesResponsewithoutToken);
-        // first two for routeTableOne, last two for routeTableTwo:
+        // first page for each route table has a token, second page does not
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
-            .thenReturn(responseWithToken, responseWithoutToken, responseWithToken, responseWithoutToken);
+            .thenAnswer(invocation -> invocation.<SearchLocalGatewayRoutesRequest>getArgument(0).nextToken() == null ? responseWithToken : responseWithoutToken);
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, null, logger);
@@ -99,7 +112,7 @@ public class ListHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_NoSearchRoutesPermissions() {
-        final ListHandler handler = new ListHandler();
+        final ListHandler handler = new ListHandler(RouteTableIdCache.DISABLED);
 
         final ResourceModel model = ResourceModel.builder().build();
 
@@ -128,8 +141,12 @@ public class ListHandlerTest extends TestBase {
                 .build();
         // Even if can't search the first route table, should just ignore and move onto the next
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
-                .thenThrow(notFoundException)
-                .thenReturn(searchRoutesResponse);
+                .thenAnswer(invocation -> {
+                    if (LOCAL_GATEWAY_ROUTE_TABLE_ID.equals(invocation.<SearchLocalGatewayRoutesRequest>getArgument(0).localGatewayRouteTableId())) {
+                        throw notFoundException;
+                    }
+                    return searchRoutesResponse;
+                });
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
                 handler.handleRequest(proxy, request, null, logger);
@@ -151,7 +168,7 @@ public class ListHandlerTest extends TestBase {
 
     @Test
     public void handleEniRouteRequest_SimpleSuccess() {
-        final ListHandler handler = new ListHandler();
+        final ListHandler handler = new ListHandler(RouteTableIdCache.DISABLED);
 
         final ResourceModel model = ResourceModel.builder().build();
 
@@ -184,9 +201,9 @@ public class ListHandlerTest extends TestBase {
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
                 .thenReturn(describeLocalGatewayRouteTablesResponsewithToken, describeLocalGatewayRouteTablesResponsewithoutToken);
-        // first two for routeTableOne, last two for routeTableTwo:
+        // first page for each route table has a token, second page does not
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
-                .thenReturn(responseWithToken, responseWithoutToken, responseWithToken, responseWithoutToken);
+                .thenAnswer(invocation -> invocation.<SearchLocalGatewayRoutesRequest>getArgument(0).nextToken() == null ? responseWithToken : responseWithoutToken);
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
                 handler.handleRequest(proxy, request, null, logger);
@@ -207,4 +224,333 @@ public class ListHandlerTest extends TestBase {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
+
+    @Test
+    public void handleRequest_SlowRouteTable_KeepsRouteTableOrder() {
+        final ListHandler handler = new ListHandler(3, ListHandler.DEFAULT_ROUTES_PER_PAGE, RouteTableIdCache.DISABLED);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        final LocalGatewayRoute firstRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.ACTIVE);
+        final LocalGatewayRoute secondRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_2, LOCAL_GATEWAY_VIF_GROUP_ID_2, LocalGatewayRouteState.ACTIVE);
+        final LocalGatewayRoute thirdRoute = buildEniRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_3, NETWORK_INTERFACE_ID, LocalGatewayRouteState.BLACKHOLE);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(DescribeLocalGatewayRouteTablesResponse
+                        .builder()
+                        .localGatewayRouteTables(Arrays.asList(VIF_GROUP_RTB, VIF_GRP_RTB_2, ENI_RTB))
+                        .build());
+
+        // The first route table only answers once the last one has, so it is the last search to finish
+        final CountDownLatch lastRouteTableSearched = new CountDownLatch(1);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenAnswer(invocation -> {
+                    final String routeTableId = invocation.<SearchLocalGatewayRoutesRequest>getArgument(0).localGatewayRouteTableId();
+                    if (LOCAL_GATEWAY_ROUTE_TABLE_ID.equals(routeTableId)) {
+                        assertThat(lastRouteTableSearched.await(10, TimeUnit.SECONDS)).isTrue();
+                        return buildSearchLgwRoutesResponse(Collections.singletonList(firstRoute));
+                    }
+                    if (LOCAL_GATEWAY_ROUTE_TABLE_ID_2.equals(routeTableId)) {
+                        return buildSearchLgwRoutesResponse(Collections.singletonList(secondRoute));
+                    }
+                    lastRouteTableSearched.countDown();
+                    return buildSearchLgwRoutesResponse(Collections.singletonList(thirdRoute));
+                });
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).isEqualTo(
+                Arrays.asList(
+                        createModelFromRoute(firstRoute),
+                        createModelFromRoute(secondRoute),
+                        createModelFromRoute(thirdRoute)
+                )
+        );
+    }
+
+    @Test
+    public void handleRequest_SearchRoutesFails_Throws() {
+        final ListHandler handler = new ListHandler(RouteTableIdCache.DISABLED);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(DescribeLocalGatewayRouteTablesResponse
+                        .builder()
+                        .localGatewayRouteTables(Arrays.asList(VIF_GROUP_RTB, VIF_GRP_RTB_2))
+                        .build());
+        final Ec2Exception unauthorizedException = (Ec2Exception) Ec2Exception
+                .builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("UnauthorizedOperation").build())
+                .build();
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenThrow(unauthorizedException);
+
+        assertThat(assertThrows(Ec2Exception.class, () -> handler.handleRequest(proxy, request, null, logger)))
+                .isSameAs(unauthorizedException);
+    }
+
+    @Test
+    public void handleRequest_NoRouteTables_Success() {
+        final ListHandler handler = new ListHandler(RouteTableIdCache.DISABLED);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(DescribeLocalGatewayRouteTablesResponse.builder().build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).isEmpty();
+    }
+
+    @Test
+    public void handleRequest_MoreRoutesThanPageSize_ResumesFromToken() {
+        final ListHandler handler = new ListHandler(ListHandler.DEFAULT_ROUTE_TABLE_SEARCH_PARALLELISM, 2, RouteTableIdCache.DISABLED);
+
+        final LocalGatewayRoute firstRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.ACTIVE);
+        final LocalGatewayRoute secondRoute = buildEniRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID, NETWORK_INTERFACE_ID, LocalGatewayRouteState.ACTIVE);
+        final LocalGatewayRoute thirdRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID, LOCAL_GATEWAY_VIF_GROUP_ID_2, LocalGatewayRouteState.BLACKHOLE);
+        final LocalGatewayRoute fourthRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_2, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.ACTIVE);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(DescribeLocalGatewayRouteTablesResponse
+                        .builder()
+                        .localGatewayRouteTables(Arrays.asList(VIF_GRP_RTB_2, VIF_GROUP_RTB))
+                        .build());
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenAnswer(invocation -> {
+                    final SearchLocalGatewayRoutesRequest searchRequest = invocation.getArgument(0);
+                    assertThat(searchRequest.maxResults()).isEqualTo(2);
+                    if (LOCAL_GATEWAY_ROUTE_TABLE_ID_2.equals(searchRequest.localGatewayRouteTableId())) {
+                        return buildSearchLgwRoutesResponse(Collections.singletonList(fourthRoute));
+                    }
+                    if (searchRequest.nextToken() == null) {
+                        return SearchLocalGatewayRoutesResponse.builder().routes(firstRoute, secondRoute).nextToken("page-2").build();
+                    }
+                    assertThat(searchRequest.nextToken()).isEqualTo("page-2");
+                    return buildSearchLgwRoutesResponse(Collections.singletonList(thirdRoute));
+                });
+
+        final ProgressEvent<ResourceModel, CallbackContext> firstResponse = handler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().build()).build(), null, logger);
+
+        assertThat(firstResponse.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(firstResponse.getResourceModels()).isEqualTo(
+                Arrays.asList(createModelFromRoute(firstRoute), createModelFromRoute(secondRoute)));
+        assertThat(firstResponse.getNextToken()).isNotNull();
+
+        final ProgressEvent<ResourceModel, CallbackContext> secondResponse = handler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().build())
+                        .nextToken(firstResponse.getNextToken())
+                        .build(), null, logger);
+
+        assertThat(secondResponse.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(secondResponse.getResourceModels()).isEqualTo(
+                Arrays.asList(createModelFromRoute(thirdRoute), createModelFromRoute(fourthRoute)));
+        assertThat(secondResponse.getNextToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_PrefetchedPageLargerThanRoom_ResumesWithinPage() {
+        final ListHandler handler = new ListHandler(ListHandler.DEFAULT_ROUTE_TABLE_SEARCH_PARALLELISM, 2, RouteTableIdCache.DISABLED);
+
+        final LocalGatewayRoute firstRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.ACTIVE);
+        final LocalGatewayRoute secondRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_2, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.ACTIVE);
+        final LocalGatewayRoute thirdRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_2, LOCAL_GATEWAY_VIF_GROUP_ID_2, LocalGatewayRouteState.ACTIVE);
+        final LocalGatewayRoute fourthRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_2, LOCAL_GATEWAY_VIF_GROUP_ID_2, LocalGatewayRouteState.BLACKHOLE);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(DescribeLocalGatewayRouteTablesResponse
+                        .builder()
+                        .localGatewayRouteTables(Arrays.asList(VIF_GRP_RTB_2, VIF_GROUP_RTB))
+                        .build());
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenAnswer(invocation -> {
+                    final SearchLocalGatewayRoutesRequest searchRequest = invocation.getArgument(0);
+                    if (LOCAL_GATEWAY_ROUTE_TABLE_ID.equals(searchRequest.localGatewayRouteTableId())) {
+                        return buildSearchLgwRoutesResponse(Collections.singletonList(firstRoute));
+                    }
+                    if (searchRequest.nextToken() == null) {
+                        return SearchLocalGatewayRoutesResponse.builder().routes(secondRoute, thirdRoute).nextToken("page-2").build();
+                    }
+                    return buildSearchLgwRoutesResponse(Collections.singletonList(fourthRoute));
+                });
+
+        final ProgressEvent<ResourceModel, CallbackContext> firstResponse = handler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().build()).build(), null, logger);
+
+        // The prefetched page of the second route table only has room for one of its routes
+        assertThat(firstResponse.getResourceModels()).isEqualTo(
+                Arrays.asList(createModelFromRoute(firstRoute), createModelFromRoute(secondRoute)));
+        assertThat(firstResponse.getNextToken()).isEqualTo(new RouteListToken(LOCAL_GATEWAY_ROUTE_TABLE_ID_2, null, 1).encode());
+
+        final ProgressEvent<ResourceModel, CallbackContext> secondResponse = handler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().build())
+                        .nextToken(firstResponse.getNextToken())
+                        .build(), null, logger);
+
+        assertThat(secondResponse.getResourceModels()).isEqualTo(
+                Arrays.asList(createModelFromRoute(thirdRoute), createModelFromRoute(fourthRoute)));
+        assertThat(secondResponse.getNextToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_PageEndsAtRouteTable_ResumesAtNextRouteTable() {
+        final ListHandler handler = new ListHandler(ListHandler.DEFAULT_ROUTE_TABLE_SEARCH_PARALLELISM, 1, RouteTableIdCache.DISABLED);
+
+        final LocalGatewayRoute firstRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.ACTIVE);
+        final LocalGatewayRoute secondRoute = buildEniRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_3, NETWORK_INTERFACE_ID, LocalGatewayRouteState.ACTIVE);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(DescribeLocalGatewayRouteTablesResponse
+                        .builder()
+                        .localGatewayRouteTables(Arrays.asList(VIF_GROUP_RTB, ENI_RTB))
+                        .build());
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenAnswer(invocation -> LOCAL_GATEWAY_ROUTE_TABLE_ID.equals(invocation.<SearchLocalGatewayRoutesRequest>getArgument(0).localGatewayRouteTableId())
+                        ? buildSearchLgwRoutesResponse(Collections.singletonList(firstRoute))
+                        : buildSearchLgwRoutesResponse(Collections.singletonList(secondRoute)));
+
+        final ProgressEvent<ResourceModel, CallbackContext> firstResponse = handler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().build()).build(), null, logger);
+
+        assertThat(firstResponse.getResourceModels()).isEqualTo(Collections.singletonList(createModelFromRoute(firstRoute)));
+        assertThat(firstResponse.getNextToken()).isEqualTo(new RouteListToken(LOCAL_GATEWAY_ROUTE_TABLE_ID_3, null, 0).encode());
+
+        final ProgressEvent<ResourceModel, CallbackContext> secondResponse = handler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().build())
+                        .nextToken(firstResponse.getNextToken())
+                        .build(), null, logger);
+
+        assertThat(secondResponse.getResourceModels()).isEqualTo(Collections.singletonList(createModelFromRoute(secondRoute)));
+        assertThat(secondResponse.getNextToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_TokenForDeletedRouteTable_ResumesAtFollowingRouteTable() {
+        final ListHandler handler = new ListHandler(RouteTableIdCache.DISABLED);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(DescribeLocalGatewayRouteTablesResponse
+                        .builder()
+                        .localGatewayRouteTables(Arrays.asList(VIF_GROUP_RTB, ENI_RTB))
+                        .build());
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenAnswer(invocation -> {
+                    final SearchLocalGatewayRoutesRequest searchRequest = invocation.getArgument(0);
+                    assertThat(searchRequest.localGatewayRouteTableId()).isEqualTo(LOCAL_GATEWAY_ROUTE_TABLE_ID_3);
+                    assertThat(searchRequest.nextToken()).isNull();
+                    return buildSearchLgwRoutesResponse(Collections.singletonList(ACTIVE_ENI_ROUTE));
+                });
+
+        // The route table in the token was deleted between List calls
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().build())
+                        .nextToken(new RouteListToken(LOCAL_GATEWAY_ROUTE_TABLE_ID_4, "token", 0).encode())
+                        .build(), null, logger);
+
+        assertThat(response.getResourceModels()).isEqualTo(Collections.singletonList(createModelFromRoute(ACTIVE_ENI_ROUTE)));
+        assertThat(response.getNextToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_InvalidNextToken_Throws() {
+        final ListHandler handler = new ListHandler(RouteTableIdCache.DISABLED);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .nextToken("not a token")
+                .build();
+
+        assertThrows(CfnInvalidRequestException.class, () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
+    @Test
+    public void testRouteListToken_RoundTrip() {
+        assertThat(RouteListToken.decode(new RouteListToken(LOCAL_GATEWAY_ROUTE_TABLE_ID, "token", 0).encode()))
+                .isEqualTo(new RouteListToken(LOCAL_GATEWAY_ROUTE_TABLE_ID, "token", 0));
+        assertThat(RouteListToken.decode(new RouteListToken(LOCAL_GATEWAY_ROUTE_TABLE_ID, null, 3).encode()))
+                .isEqualTo(new RouteListToken(LOCAL_GATEWAY_ROUTE_TABLE_ID, null, 3));
+        assertThat(RouteListToken.decode(null)).isNull();
+    }
+
+    @Test
+    public void testRouteListToken_WithoutOffset_StartsAtFirstRoute() {
+        final String token = Base64.getUrlEncoder()
+                .encodeToString((LOCAL_GATEWAY_ROUTE_TABLE_ID + "\ntoken").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(RouteListToken.decode(token)).isEqualTo(new RouteListToken(LOCAL_GATEWAY_ROUTE_TABLE_ID, "token", 0));
+    }
+
+    @Test
+    public void testRouteListToken_InvalidOffset_Throws() {
+        final String token = Base64.getUrlEncoder()
+                .encodeToString((LOCAL_GATEWAY_ROUTE_TABLE_ID + "\ntoken\n-1").getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(CfnInvalidRequestException.class, () -> RouteListToken.decode(token));
+    }
+
+    @Test
+    public void handleRequest_RouteTableIdInModel_SkipsDiscovery() {
+        final ListHandler handler = new ListHandler(RouteTableIdCache.DISABLED);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenAnswer(invocation -> {
+                    final SearchLocalGatewayRoutesRequest searchRequest = invocation.getArgument(0);
+                    assertThat(searchRequest.localGatewayRouteTableId()).isEqualTo(LOCAL_GATEWAY_ROUTE_TABLE_ID);
+                    return ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE;
+                });
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().localGatewayRouteTableId(LOCAL_GATEWAY_ROUTE_TABLE_ID).build())
+                        .build(), null, logger);
+
+        assertThat(response.getResourceModels()).isEqualTo(Collections.singletonList(createModelFromRoute(ACTIVE_VIF_GROUP_ROUTE)));
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_CachedRouteTableIds_DiscoveredOnce() {
+        final ListHandler handler = new ListHandler(new RouteTableIdCache(Duration.ofMinutes(1), Clock.systemUTC()));
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId("123456789012")
+                .region("us-west-2")
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(DescribeLocalGatewayRouteTablesResponse.builder().localGatewayRouteTables(VIF_GROUP_RTB).build());
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+
+        handler.handleRequest(proxy, request, null, logger);
+        handler.handleRequest(proxy, request, null, logger);
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any());
+
+        // A token for a route table the cached IDs don't have means they are out of date
+        final ResourceHandlerRequest<ResourceModel> requestWithUnknownRouteTable = ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId("123456789012")
+                .region("us-west-2")
+                .desiredResourceState(ResourceModel.builder().build())
+                .nextToken(new RouteListToken(LOCAL_GATEWAY_ROUTE_TABLE_ID_4, "token", 0).encode())
+                .build();
+        handler.handleRequest(proxy, requestWithUnknownRouteTable, null, logger);
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any());
+    }
 }
@@ -1,5 +1,6 @@
 package com.amazonaws.ec2.localgatewayroute;
 
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteState;
 import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesRequest;
 import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesResponse;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
@@ -11,10 +12,13 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Collections;
 
 import static com.amazonaws.ec2.localgatewayroute.Translator.createModelFromRoute;
@@ -22,6 +26,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,7 +56,7 @@ public class ReadHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_SimpleSuccess() {
-        final ReadHandler handler = new ReadHandler();
+        final ReadHandler handler = new ReadHandler(RouteTableSnapshotCache.DISABLED);
 
         final SearchLocalGatewayRoutesResponse responseWithToken = SearchLocalGatewayRoutesResponse
             .builder()
@@ -82,7 +88,7 @@ public class ReadHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_RouteNotFound_Fails() {
-        final ReadHandler handler = new ReadHandler();
+        final ReadHandler handler = new ReadHandler(RouteTableSnapshotCache.DISABLED);
 
         final SearchLocalGatewayRoutesResponse response = SearchLocalGatewayRoutesResponse
             .builder()
@@ -95,9 +101,21 @@ public class ReadHandlerTest extends TestBase {
         assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void handleRequest_RouteDeleted_Fails() {
+        final ReadHandler handler = new ReadHandler(RouteTableSnapshotCache.DISABLED);
+
+        // EC2 goes on reporting a route as deleted after a successful delete
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(buildSearchLgwRoutesResponse(Collections.singletonList(
+                DELETING_VIF_GROUP_ROUTE.toBuilder().state(LocalGatewayRouteState.DELETED).build())));
+
+        assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
     @Test
     public void handleRequest_MultipleRoutesFound_Fails() {
-        final ReadHandler handler = new ReadHandler();
+        final ReadHandler handler = new ReadHandler(RouteTableSnapshotCache.DISABLED);
 
         final SearchLocalGatewayRoutesResponse response = SearchLocalGatewayRoutesResponse
             .builder()
@@ -109,4 +127,51 @@ public class ReadHandlerTest extends TestBase {
 
         assertThrows(CfnGeneralServiceException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
+
+    @Test
+    public void handleRequest_RouteInSnapshot_SkipsSearch() {
+        final ReadHandler handler = new ReadHandler(new RouteTableSnapshotCache(Duration.ofSeconds(10), Clock.systemUTC()));
+
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> first = handler.handleRequest(proxy, request, null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> second = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(first.getResourceModel()).isEqualTo(ACTIVE_VIF_GROUP_MODEL);
+        assertThat(second.getResourceModel()).isEqualTo(ACTIVE_VIF_GROUP_MODEL);
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_RouteMissingFromSnapshot_SearchesForIt() {
+        final ReadHandler handler = new ReadHandler(new RouteTableSnapshotCache(Duration.ofSeconds(10), Clock.systemUTC()));
+
+        // Created after the snapshot was taken
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(EMPTY_SEARCH_LGW_ROUTES_RESPONSE)
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(ACTIVE_VIF_GROUP_MODEL);
+    }
+
+    @Test
+    public void handleRequest_DefaultHandler_SearchesForRouteOnly() {
+        final ReadHandler handler = new ReadHandler();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+
+        handler.handleRequest(proxy, request, null, logger);
+        handler.handleRequest(proxy, request, null, logger);
+
+        // Without a snapshot cache every read is a search for its own route, never for the whole table
+        final ArgumentCaptor<SearchLocalGatewayRoutesRequest> searches = ArgumentCaptor.forClass(SearchLocalGatewayRoutesRequest.class);
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(searches.capture(), any());
+        assertThat(searches.getAllValues()).allSatisfy(search -> assertThat(search.filters())
+            .anySatisfy(filter -> assertThat(filter.name()).isEqualTo("route-search.exact-match")));
+    }
 }
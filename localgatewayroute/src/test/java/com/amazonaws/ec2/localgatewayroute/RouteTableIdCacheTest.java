@@ -0,0 +1,76 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RouteTableIdCacheTest {
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String REGION = "us-west-2";
+
+    private final AtomicInteger discoveries = new AtomicInteger();
+    private final Supplier<List<String>> discover = () -> {
+        discoveries.incrementAndGet();
+        return Arrays.asList("lgw-rtb-1", "lgw-rtb-2");
+    };
+    private Clock clock;
+    private RouteTableIdCache cache;
+
+    @BeforeEach
+    public void setup() {
+        clock = mock(Clock.class);
+        cache = new RouteTableIdCache(Duration.ofSeconds(60), clock);
+    }
+
+    @Test
+    public void testIdsAreReusedUntilTheyExpire() {
+        when(clock.millis()).thenReturn(0L, 59_999L, 60_000L);
+
+        assertThat(cache.get(ACCOUNT_ID, REGION, discover)).containsExactly("lgw-rtb-1", "lgw-rtb-2");
+        assertThat(cache.get(ACCOUNT_ID, REGION, discover)).containsExactly("lgw-rtb-1", "lgw-rtb-2");
+        assertThat(discoveries.get()).isEqualTo(1);
+
+        cache.get(ACCOUNT_ID, REGION, discover);
+        assertThat(discoveries.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testIdsAreKeptPerAccountAndRegion() {
+        when(clock.millis()).thenReturn(0L);
+
+        cache.get(ACCOUNT_ID, REGION, discover);
+        assertThat(cache.get(ACCOUNT_ID, "us-east-1", Collections::emptyList)).isEmpty();
+        assertThat(cache.get("210987654321", REGION, Collections::emptyList)).isEmpty();
+        assertThat(cache.get(ACCOUNT_ID, REGION, Collections::emptyList)).hasSize(2);
+    }
+
+    @Test
+    public void testInvalidatedIdsAreDiscoveredAgain() {
+        when(clock.millis()).thenReturn(0L);
+
+        cache.get(ACCOUNT_ID, REGION, discover);
+        cache.invalidate(ACCOUNT_ID, REGION);
+        cache.get(ACCOUNT_ID, REGION, discover);
+
+        assertThat(discoveries.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysDiscovers() {
+        RouteTableIdCache.DISABLED.get(ACCOUNT_ID, REGION, discover);
+        RouteTableIdCache.DISABLED.get(ACCOUNT_ID, REGION, discover);
+
+        assertThat(discoveries.get()).isEqualTo(2);
+    }
+}
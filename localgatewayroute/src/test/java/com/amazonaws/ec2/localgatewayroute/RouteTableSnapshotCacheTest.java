@@ -0,0 +1,148 @@
+package com.amazonaws.ec2.localgatewayroute;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRoute;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteState;
+import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesRequest;
+import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RouteTableSnapshotCacheTest extends TestBase {
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(10);
+
+    private AmazonWebServicesClientProxy proxy;
+    private Ec2Client client;
+    private Clock clock;
+    private RouteTableSnapshotCache cache;
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        client = mock(Ec2Client.class);
+        clock = mock(Clock.class);
+        cache = new RouteTableSnapshotCache(TIME_TO_LIVE, clock);
+    }
+
+    @Test
+    public void testRepeatedReadsShareOneSnapshot() {
+        final LocalGatewayRoute otherRoute = ACTIVE_VIF_GROUP_ROUTE.toBuilder().destinationCidrBlock("10.1.0.0/16").build();
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(SearchLocalGatewayRoutesResponse.builder().routes(otherRoute).nextToken("token").build())
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+
+        assertThat(find(DESTINATION_CIDR)).isEqualTo(ACTIVE_VIF_GROUP_ROUTE);
+        assertThat(find("10.1.0.0/16")).isEqualTo(otherRoute);
+        assertThat(find("10.2.0.0/16")).isNull();
+
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+    }
+
+    @Test
+    public void testExpiredSnapshotIsTakenAgain() {
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(BLACKHOLE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE)
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+        when(clock.millis()).thenReturn(0L, TIME_TO_LIVE.toMillis() - 1, TIME_TO_LIVE.toMillis());
+
+        assertThat(find(DESTINATION_CIDR)).isEqualTo(BLACKHOLE_VIF_GROUP_ROUTE);
+        assertThat(find(DESTINATION_CIDR)).isEqualTo(BLACKHOLE_VIF_GROUP_ROUTE);
+        assertThat(find(DESTINATION_CIDR)).isEqualTo(ACTIVE_VIF_GROUP_ROUTE);
+    }
+
+    @Test
+    public void testRoutesChangingStateAreLeftToDirectSearch() {
+        final LocalGatewayRoute deletedRoute = ACTIVE_VIF_GROUP_ROUTE.toBuilder()
+            .destinationCidrBlock("10.1.0.0/16")
+            .state(LocalGatewayRouteState.DELETED)
+            .build();
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(buildSearchLgwRoutesResponse(Arrays.asList(PENDING_VIF_GROUP_ROUTE, deletedRoute)));
+
+        assertThat(find(DESTINATION_CIDR)).isNull();
+        assertThat(find("10.1.0.0/16")).isNull();
+        assertThat(cache.routes(ACCOUNT_ID, LOCAL_GATEWAY_ROUTE_TABLE_ID, proxy, client).exactMatch(DESTINATION_CIDR)).isNull();
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+    }
+
+    @Test
+    public void testInvalidatedSnapshotIsTakenAgain() {
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(EMPTY_SEARCH_LGW_ROUTES_RESPONSE)
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE);
+
+        assertThat(find(DESTINATION_CIDR)).isNull();
+        cache.invalidate(ACCOUNT_ID, LOCAL_GATEWAY_ROUTE_TABLE_ID);
+        assertThat(find(DESTINATION_CIDR)).isEqualTo(ACTIVE_VIF_GROUP_ROUTE);
+    }
+
+    @Test
+    public void testSnapshotsAreKeptPerAccount() {
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(ACTIVE_VIF_GROUP_SEARCH_LGW_ROUTES_RESPONSE)
+            .thenReturn(EMPTY_SEARCH_LGW_ROUTES_RESPONSE);
+
+        assertThat(find(DESTINATION_CIDR)).isEqualTo(ACTIVE_VIF_GROUP_ROUTE);
+        assertThat(cache.find("210987654321", LOCAL_GATEWAY_ROUTE_TABLE_ID, DESTINATION_CIDR, proxy, client)).isNull();
+    }
+
+    @Test
+    public void testDuplicateCidrIsLeftToDirectSearch() {
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(buildSearchLgwRoutesResponse(Arrays.asList(ACTIVE_VIF_GROUP_ROUTE, BLACKHOLE_VIF_GROUP_ROUTE)));
+
+        assertThat(find(DESTINATION_CIDR)).isNull();
+    }
+
+    @Test
+    public void testLargeRouteTableIsNotKept() {
+        final List<LocalGatewayRoute> routes = new ArrayList<>();
+        for (int i = 0; i <= RouteTableSnapshotCache.MAX_SNAPSHOT_ROUTES; i++) {
+            routes.add(ACTIVE_VIF_GROUP_ROUTE);
+        }
+        when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+            .thenReturn(SearchLocalGatewayRoutesResponse.builder().routes(routes).nextToken("token").build());
+
+        assertThat(find(DESTINATION_CIDR)).isNull();
+        assertThat(find(DESTINATION_CIDR)).isNull();
+
+        // The table is known to be too large until the entry expires, so it isn't fetched for every read
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+    }
+
+    @Test
+    public void testDisabledCacheMakesNoCalls() {
+        assertThat(RouteTableSnapshotCache.DISABLED.find(ACCOUNT_ID, LOCAL_GATEWAY_ROUTE_TABLE_ID, DESTINATION_CIDR, proxy, client)).isNull();
+        assertThat(RouteTableSnapshotCache.DISABLED.routes(ACCOUNT_ID, LOCAL_GATEWAY_ROUTE_TABLE_ID, proxy, client)).isNull();
+
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+    }
+
+    @Test
+    public void testSnapshotsAreOptIn() {
+        assertThat(RouteTableSnapshotCache.configured(null)).isSameAs(RouteTableSnapshotCache.DISABLED);
+        assertThat(RouteTableSnapshotCache.configured("false")).isSameAs(RouteTableSnapshotCache.DISABLED);
+        assertThat(RouteTableSnapshotCache.configured("true")).isNotSameAs(RouteTableSnapshotCache.DISABLED);
+        assertThat(RouteTableSnapshotCache.configured("TRUE")).isSameAs(RouteTableSnapshotCache.configured("true"));
+    }
+
+    private LocalGatewayRoute find(final String destinationCidrBlock) {
+        return cache.find(ACCOUNT_ID, LOCAL_GATEWAY_ROUTE_TABLE_ID, destinationCidrBlock, proxy, client);
+    }
+}
@@ -6,7 +6,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRoute;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteState;
 import software.amazon.awssdk.services.ec2.model.ModifyLocalGatewayRouteRequest;
+import software.amazon.awssdk.services.ec2.model.ModifyLocalGatewayRouteResponse;
 import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesRequest;
 import software.amazon.awssdk.services.ec2.model.SearchLocalGatewayRoutesResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -16,13 +19,18 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.amazonaws.ec2.localgatewayroute.EventGenerator.FIRST_POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.localgatewayroute.Translator.createModelFromRoute;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -49,7 +57,7 @@ public class UpdateHandlerTest extends TestBase {
                 .desiredResourceState(ACTIVE_VIF_GROUP_MODEL)
                 .build();
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
 
@@ -79,7 +87,7 @@ public class UpdateHandlerTest extends TestBase {
             final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                     .desiredResourceState(model)
                     .build();
-            final UpdateHandler handler = new UpdateHandler();
+            final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
             final ProgressEvent<ResourceModel, CallbackContext> response
                     = handler.handleRequest(proxy, request, null, logger);
 
@@ -127,7 +135,13 @@ public class UpdateHandlerTest extends TestBase {
                     .desiredResourceState(desiredModelBuilder.build())
                     .build();
 
-            final UpdateHandler handler = new UpdateHandler();
+            final LocalGatewayRoute modifiedRoute = routeTarget.startsWith("lgw-vif")
+                    ? buildVifGroupRoute(lgwRtbId, routeTarget, LocalGatewayRouteState.ACTIVE)
+                    : buildEniRoute(lgwRtbId, routeTarget, LocalGatewayRouteState.ACTIVE);
+            Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(ModifyLocalGatewayRouteRequest.class), any()))
+                    .thenReturn(ModifyLocalGatewayRouteResponse.builder().route(modifiedRoute).build());
+
+            final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
             final ProgressEvent<ResourceModel, CallbackContext> response
                     = handler.handleRequest(proxy, request, null, logger);
 
@@ -147,7 +161,7 @@ public class UpdateHandlerTest extends TestBase {
             assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
             assertThat(response.getCallbackContext()).isNull();
             assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
-            assertThat(response.getResourceModel()).isEqualTo(desiredModelBuilder.build());
+            assertThat(response.getResourceModel()).isEqualTo(createModelFromRoute(modifiedRoute));
             assertThat(response.getResourceModels()).isNull();
             assertThat(response.getMessage()).isNull();
             assertThat(response.getErrorCode()).isNull();
@@ -169,7 +183,11 @@ public class UpdateHandlerTest extends TestBase {
                 .desiredResourceState(model)
                 .build();
 
-        final UpdateHandler handler = new UpdateHandler();
+        final LocalGatewayRoute modifiedRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_3, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.ACTIVE);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(ModifyLocalGatewayRouteRequest.class), any()))
+                .thenReturn(ModifyLocalGatewayRouteResponse.builder().route(modifiedRoute).build());
+
+        final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
 
@@ -186,7 +204,7 @@ public class UpdateHandlerTest extends TestBase {
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackContext()).isNull();
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
-        assertThat(response.getResourceModel()).isEqualTo(model);
+        assertThat(response.getResourceModel()).isEqualTo(createModelFromRoute(modifiedRoute));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
@@ -215,7 +233,7 @@ public class UpdateHandlerTest extends TestBase {
                 .build();
         when(proxy.injectCredentialsAndInvokeV2(any(ModifyLocalGatewayRouteRequest.class), any())).thenThrow(unauthorizedException);
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
 
@@ -228,4 +246,150 @@ public class UpdateHandlerTest extends TestBase {
         assertThat(response.getMessage()).isNotNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
+
+    @Test
+    public void handleRequest_RouteStabilizesOnNewTarget_Success() {
+        final LocalGatewayRoute pendingRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_3, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.PENDING);
+        final LocalGatewayRoute activeRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_3, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.ACTIVE);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenReturn(ACTIVE_ENI_SEARCH_LGW_ROUTES_RESPONSE, buildSearchLgwRoutesResponse(Collections.singletonList(activeRoute)));
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(ModifyLocalGatewayRouteRequest.class), any()))
+                .thenReturn(ModifyLocalGatewayRouteResponse.builder().route(pendingRoute).build());
+
+        final UpdateHandler handler = new UpdateHandler(new InvocationPoller(3, 1));
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, vifGroupUpdateRequest(), null, logger);
+
+        // One search for the existing route and one once the modified route has had time to become active
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel()).isEqualTo(createModelFromRoute(activeRoute));
+    }
+
+    @Test
+    public void handleRequest_RouteStillPending_InProgress() {
+        final LocalGatewayRoute pendingRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_3, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.PENDING);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenReturn(ACTIVE_ENI_SEARCH_LGW_ROUTES_RESPONSE);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(ModifyLocalGatewayRouteRequest.class), any()))
+                .thenReturn(ModifyLocalGatewayRouteResponse.builder().route(pendingRoute).build());
+
+        final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, vifGroupUpdateRequest(), null, logger);
+
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isUpdateStarted()).isTrue();
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
+        assertThat(response.getResourceModel()).isEqualTo(createModelFromRoute(pendingRoute));
+    }
+
+    @Test
+    public void handleRequest_UpdateStarted_Success() {
+        final LocalGatewayRoute activeRoute = buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_3, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.ACTIVE);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenReturn(buildSearchLgwRoutesResponse(Collections.singletonList(activeRoute)));
+
+        final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+                proxy, vifGroupUpdateRequest(), CallbackContext.builder().updateStarted(true).build(), logger);
+
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(ModifyLocalGatewayRouteRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(createModelFromRoute(activeRoute));
+    }
+
+    @Test
+    public void handleRequest_UpdateStarted_Throttled_InProgress() {
+        final Ec2Exception throttledException = (Ec2Exception) Ec2Exception
+                .builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("RequestLimitExceeded").build())
+                .build();
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenThrow(throttledException);
+
+        final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+                proxy, vifGroupUpdateRequest(), CallbackContext.builder().updateStarted(true).build(), logger);
+
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(ModifyLocalGatewayRouteRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isUpdateStarted()).isTrue();
+        assertThat(response.getCallbackContext().getThrottledAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    public void handleRequest_RouteDeletedWhileStabilizing_Fails() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenReturn(buildSearchLgwRoutesResponse(Collections.singletonList(
+                        buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_3, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.DELETING))));
+
+        final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+                proxy, vifGroupUpdateRequest(), CallbackContext.builder().updateStarted(true).build(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+        assertThat(response.getMessage()).contains(DESTINATION_CIDR, LOCAL_GATEWAY_ROUTE_TABLE_ID_3, "deleting");
+    }
+
+    @Test
+    public void handleRequest_RouteGoneWhileStabilizing_Fails() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenReturn(buildSearchLgwRoutesResponse(Collections.singletonList(
+                        buildVifGroupRoute(LOCAL_GATEWAY_ROUTE_TABLE_ID_3, LOCAL_GATEWAY_VIF_GROUP_ID, LocalGatewayRouteState.DELETED))));
+
+        final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+                proxy, vifGroupUpdateRequest(), CallbackContext.builder().updateStarted(true).build(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+        assertThat(response.getMessage()).contains(DESTINATION_CIDR, LOCAL_GATEWAY_ROUTE_TABLE_ID_3, "deleted");
+    }
+
+    @Test
+    public void handleRequest_RouteStuckOnOldTarget_FailsOnceTimedOut() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(SearchLocalGatewayRoutesRequest.class), any()))
+                .thenReturn(ACTIVE_ENI_SEARCH_LGW_ROUTES_RESPONSE);
+        final UpdateHandler handler = new UpdateHandler(InvocationPoller.DISABLED);
+
+        final CallbackContext waiting = CallbackContext.builder()
+                .updateStarted(true)
+                .stabilizationAttempts(5)
+                .stabilizationStartedAt(System.currentTimeMillis() - 60_000)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> stillWaiting
+                = handler.handleRequest(proxy, vifGroupUpdateRequest(), waiting, logger);
+        assertThat(stillWaiting.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(stillWaiting.getCallbackContext().getStabilizationAttempts()).isEqualTo(6);
+
+        final CallbackContext timedOut = CallbackContext.builder()
+                .updateStarted(true)
+                .stabilizationAttempts(40)
+                .stabilizationStartedAt(System.currentTimeMillis() - EventGenerator.MAX_STABILIZATION_MILLIS)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, vifGroupUpdateRequest(), timedOut, logger);
+
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(ModifyLocalGatewayRouteRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+        assertThat(response.getMessage()).contains(DESTINATION_CIDR, LOCAL_GATEWAY_ROUTE_TABLE_ID_3, "active");
+        assertThat(response.getCallbackContext()).isNull();
+    }
+
+    // Moves the ENI route of the third route table over to a VIF group
+    private ResourceHandlerRequest<ResourceModel> vifGroupUpdateRequest() {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .localGatewayRouteTableId(LOCAL_GATEWAY_ROUTE_TABLE_ID_3)
+                        .destinationCidrBlock(DESTINATION_CIDR)
+                        .localGatewayVirtualInterfaceGroupId(LOCAL_GATEWAY_VIF_GROUP_ID)
+                        .build())
+                .build();
+    }
 }
@@ -0,0 +1,76 @@
+package com.amazonaws.ec2.localgatewayroutetable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The cost of getting an EC2 client for an invocation: the shared client ClientBuilder hands out against building
+ * one per call, as ClientBuilder used to. Run with
+ *
+ *   mvn -Pbenchmark verify -DskipTests -Dbenchmark=ClientBuilderBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientBuilderBenchmark {
+    private final Logger logger = message -> { };
+
+    private SdkHttpClient httpClient;
+
+    @Setup
+    public void setup() {
+        // Lambda sets the region through the environment, which a benchmark run doesn't have
+        if (System.getenv("AWS_REGION") == null && System.getProperty("aws.region") == null) {
+            System.setProperty("aws.region", "us-west-2");
+        }
+        httpClient = ApacheHttpClient.builder()
+            .socketTimeout(ClientBuilder.SOCKET_TIMEOUT)
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+    }
+
+    @Benchmark
+    public Ec2Client getClient() {
+        return ClientBuilder.getClient(logger);
+    }
+
+    // A client built for every call, as getClient did before it kept one per container
+    @Benchmark
+    public Ec2Client buildClientBaseline() {
+        AttemptLoggingExecutionInterceptor.setRequestLogger(logger);
+        return Ec2Client.builder()
+            .httpClient(httpClient)
+            .overrideConfiguration(ClientOverrideConfiguration.builder()
+                .addExecutionInterceptor(new AttemptLoggingExecutionInterceptor())
+                .apiCallAttemptTimeout(ClientBuilder.SOCKET_TIMEOUT)
+                .apiCallTimeout(Duration.ofSeconds(59))
+                .retryPolicy(RetryPolicy.builder().numRetries(5).build())
+                .build())
+            .build();
+    }
+}
@@ -1,23 +1,118 @@
 package com.amazonaws.ec2.localgatewayroutetable;
 
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.retry.RetryUtils;
 import software.amazon.cloudformation.proxy.Logger;
 
+import java.time.Clock;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 public class AttemptLoggingExecutionInterceptor implements ExecutionInterceptor {
 
-    private Logger logger;
+    static final ExecutionAttribute<Logger> LOGGER = new ExecutionAttribute<>("HandlerLogger");
+
+    static final ExecutionAttribute<Long> INVOCATION_DEADLINE = new ExecutionAttribute<>("HandlerInvocationDeadline");
+
+    static final ExecutionAttribute<CallMetrics> CALL_METRICS = new ExecutionAttribute<>("CallMetrics");
+
+    // The EC2 client is shared by every invocation in the container, so the logger of the request being handled is
+    // bound to the calling thread and carried through the execution attributes of each call made on its behalf
+    private static final ThreadLocal<Logger> requestLogger = new ThreadLocal<>();
+
+    // Each invocation gets its own logger, so the first time a logger is seen marks the start of its invocation
+    private static final Map<Logger, Long> invocationDeadlines = Collections.synchronizedMap(new WeakHashMap<>());
 
-    AttemptLoggingExecutionInterceptor(Logger logger) {
-        this.logger = logger;
+    static void setRequestLogger(Logger logger) {
+        requestLogger.set(logger);
+        if (logger != null) {
+            getInvocationDeadline(logger);
+        }
+    }
+
+    static long getInvocationDeadline(Logger logger) {
+        return invocationDeadlines.computeIfAbsent(logger, key -> System.currentTimeMillis() + ClientBuilder.HANDLER_TIMEOUT.toMillis());
+    }
+
+    // For an invocation known to have started earlier than the first call seen for it
+    static void setInvocationDeadline(Logger logger, long deadlineMillis) {
+        invocationDeadlines.put(logger, deadlineMillis);
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        final Logger logger = requestLogger.get();
+        if (logger != null) {
+            executionAttributes.putAttribute(LOGGER, logger);
+            final Long deadline = invocationDeadlines.get(logger);
+            if (deadline != null) {
+                executionAttributes.putAttribute(INVOCATION_DEADLINE, deadline);
+            }
+            // Metrics are only kept when there is a logger to write them to
+            executionAttributes.putAttribute(CALL_METRICS,
+                new CallMetrics(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME), System.nanoTime()));
+        }
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        final Long deadline = executionAttributes.getAttribute(INVOCATION_DEADLINE);
+        if (deadline == null) {
+            return context.request();
+        }
+        return new InvocationDeadline(deadline, Clock.systemUTC()).withCallTimeouts(context.request());
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        final CallMetrics metrics = executionAttributes.getAttribute(CALL_METRICS);
+        if (metrics != null) {
+            metrics.attemptStarted(System.nanoTime());
+        }
     }
 
     @Override
     public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
-        if (!context.httpResponse().isSuccessful()) {
+        final CallMetrics metrics = executionAttributes.getAttribute(CALL_METRICS);
+        if (metrics != null) {
+            metrics.attemptFinished(System.nanoTime());
+        }
+        final Logger logger = executionAttributes.getAttribute(LOGGER);
+        if (logger != null && !context.httpResponse().isSuccessful()) {
             logger.log("Error when attempting to call EC2. Status: " + context.httpResponse().statusCode() +
                 ", " + context.httpResponse().statusText().orElse(""));
         }
     }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        recordMetrics(executionAttributes, false);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        final CallMetrics metrics = executionAttributes.getAttribute(CALL_METRICS);
+        if (metrics != null) {
+            final boolean throttled = context.exception() instanceof SdkException
+                && RetryUtils.isThrottlingException((SdkException) context.exception());
+            metrics.callFailed(System.nanoTime(), throttled);
+        }
+        recordMetrics(executionAttributes, true);
+    }
+
+    // Added to the invocation's metrics, which are written out once its handler returns
+    private static void recordMetrics(ExecutionAttributes executionAttributes, boolean failed) {
+        final CallMetrics metrics = executionAttributes.getAttribute(CALL_METRICS);
+        final Logger logger = executionAttributes.getAttribute(LOGGER);
+        if (metrics != null && logger != null) {
+            InvocationMetrics.of(logger).record(metrics, System.nanoTime(), failed);
+        }
+    }
 }
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Set;
 
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createFailedEvent;
+import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createFailedOrRescheduledEvent;
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createFailedReadOnlyPropertyEvent;
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createInProgressEvent;
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createSuccessEvent;
@@ -21,15 +22,33 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
 
     private static final List<String> CREATED_LGW_RTB_STATES = Arrays.asList("available", "inactive");
 
+    private final InvocationPoller poller;
+
+    public CreateHandler() {
+        this(InvocationPoller.defaultPoller());
+    }
+
+    CreateHandler(final InvocationPoller poller) {
+        this.poller = poller;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
-        final ResourceModel resultModel;
+        ResourceModel resultModel;
 
         final Ec2Client client = ClientBuilder.getClient(logger);
 
@@ -66,15 +85,22 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         final ReadHandler readHandler = new ReadHandler();
         try {
             resultModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            for (int polls = 0; !CREATED_LGW_RTB_STATES.contains(resultModel.getState()) && poller.awaitNextPoll(polls, logger); polls++) {
+                resultModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            }
             if (!CREATED_LGW_RTB_STATES.contains(resultModel.getState())) {
                 logger.log("LGW route table is not in one of the 'created' states, " + CREATED_LGW_RTB_STATES +
                         ". Returning InProgress event. Current state=" + resultModel.getState());
-                return createInProgressEventForCreate(resultModel);
+                return createInProgressEventForCreate(resultModel, callbackContext);
             }
         } catch (CfnNotFoundException e) {
-            return createInProgressEventForCreate(model);
+            return createInProgressEventForCreate(model, callbackContext);
         } catch (Ec2Exception e) {
-            return createFailedEvent(model, e);
+            final CallbackContext nextContext = CallbackContext.stabilizingFrom(callbackContext)
+                .createStarted(true)
+                .throttledAttempts(callbackContext == null ? 0 : callbackContext.getThrottledAttempts())
+                .build();
+            return createFailedOrRescheduledEvent(model, nextContext, e);
         }
 
         return createSuccessEvent(resultModel);
@@ -103,8 +129,8 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         }
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForCreate(ResourceModel model) {
-        return createInProgressEvent(model, CallbackContext.builder().createStarted(true).build());
+    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForCreate(ResourceModel model, CallbackContext callbackContext) {
+        return createInProgressEvent(model, CallbackContext.stabilizingFrom(callbackContext).createStarted(true).build());
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForCreate(ResourceModel model, int pollingDelaySeconds) {
@@ -6,11 +6,18 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static com.amazonaws.ec2.localgatewayroutetable.CallbackContext.POLLING_DELAY_SECONDS;
 import static com.amazonaws.ec2.localgatewayroutetable.Translator.getHandlerErrorForEc2Error;
+import static com.amazonaws.ec2.localgatewayroutetable.Translator.isTransientEc2Error;
 
 class EventGenerator {
+    static final int MAX_THROTTLED_ATTEMPTS = 8;
+    static final int MAX_THROTTLED_DELAY_SECONDS = 60;
+    static final int FIRST_POLLING_DELAY_SECONDS = 1;
+    static final int MAX_POLLING_DELAY_SECONDS = 30;
+
     private EventGenerator() {
     }
 
@@ -22,14 +29,20 @@ class EventGenerator {
     }
 
     static ProgressEvent<ResourceModel, CallbackContext> createSuccessEventForMultipleModels(List<ResourceModel> models) {
+        return createSuccessEventForMultipleModels(models, null);
+    }
+
+    static ProgressEvent<ResourceModel, CallbackContext> createSuccessEventForMultipleModels(List<ResourceModel> models, String nextToken) {
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModels(models)
+                .nextToken(nextToken)
                 .status(OperationStatus.SUCCESS)
                 .build();
     }
 
+    // Waiting for the resource to stabilize. The poll is recorded in context, which the next invocation resumes from
     static ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model, CallbackContext context) {
-        return createInProgressEvent(model, context, POLLING_DELAY_SECONDS);
+        return createInProgressEvent(model, context, getPollingDelaySeconds(context, System.currentTimeMillis()));
     }
 
     static ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model, CallbackContext context, int pollingDelaySeconds) {
@@ -50,6 +63,35 @@ class EventGenerator {
                 .build();
     }
 
+    // Part way through a workflow a throttled or failed EC2 call is retried by a later invocation rather than failing
+    // the stack operation. nextContext is the context that invocation should resume from
+    static ProgressEvent<ResourceModel, CallbackContext> createFailedOrRescheduledEvent(ResourceModel model, CallbackContext nextContext, Ec2Exception e) {
+        if (!isTransientEc2Error(e) || nextContext.getThrottledAttempts() >= MAX_THROTTLED_ATTEMPTS) {
+            return createFailedEvent(model, e);
+        }
+        nextContext.setThrottledAttempts(nextContext.getThrottledAttempts() + 1);
+        return createInProgressEvent(model, nextContext, getThrottledDelaySeconds(nextContext.getThrottledAttempts()));
+    }
+
+    static int getThrottledDelaySeconds(int throttledAttempts) {
+        // Exponential backoff with jitter, so the resources of a large stack don't all come back at the same time
+        final int delay = Math.min(MAX_THROTTLED_DELAY_SECONDS, POLLING_DELAY_SECONDS << Math.min(Math.max(throttledAttempts - 1, 0), 4));
+        return delay / 2 + ThreadLocalRandom.current().nextInt(delay / 2 + 1);
+    }
+
+    static int getPollingDelaySeconds(CallbackContext context, long nowMillis) {
+        if (context.getStabilizationAttempts() == 0) {
+            context.setStabilizationStartedAt(nowMillis);
+        }
+        context.setStabilizationAttempts(context.getStabilizationAttempts() + 1);
+        // Polls start short and back off, so quick transitions finish quickly and slow ones make few EC2 calls. The
+        // time already spent waiting keeps the poll rate falling even when invocations were slow to come back
+        final long backoff = (long) FIRST_POLLING_DELAY_SECONDS << Math.min(context.getStabilizationAttempts() - 1, 5);
+        final long waitedSeconds = (nowMillis - context.getStabilizationStartedAt()) / 1000;
+        final int delay = (int) Math.min(MAX_POLLING_DELAY_SECONDS, Math.max(backoff, waitedSeconds / 4));
+        return Math.max(FIRST_POLLING_DELAY_SECONDS, delay / 2 + ThreadLocalRandom.current().nextInt(delay / 2 + 1));
+    }
+
     static ProgressEvent<ResourceModel, CallbackContext> createFailedReadOnlyPropertyEvent(ResourceModel model, String readOnlyProperty) {
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModel(model)
@@ -0,0 +1,80 @@
+package com.amazonaws.ec2.localgatewayroutetable;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/*
+ * The time left in one handler invocation. Every EC2 call made for the invocation is given at most the time that is
+ * left, and handlers with further calls to make check it first so that they can hand back IN_PROGRESS, with what they
+ * have done recorded in the callback context, instead of being stopped partway through.
+ */
+final class InvocationDeadline {
+    // The longest a single call may take, however much time is left
+    static final Duration MAX_CALL_TIMEOUT = Duration.ofSeconds(59);
+
+    // A call never gets less than this, so that one started too late still fails on its own terms
+    static final Duration MIN_CALL_TIMEOUT = Duration.ofSeconds(1);
+
+    // Kept back from every call for the handler to build and return its progress event afterwards
+    static final Duration REPORTING_MARGIN = Duration.ofSeconds(2);
+
+    // Handlers don't start another call with less time than this for it
+    static final Duration MIN_CALL_BUDGET = Duration.ofSeconds(10);
+
+    private final long deadlineMillis;
+    private final Clock clock;
+
+    InvocationDeadline(final long deadlineMillis, final Clock clock) {
+        this.deadlineMillis = deadlineMillis;
+        this.clock = clock;
+    }
+
+    static InvocationDeadline of(final Logger logger) {
+        return new InvocationDeadline(AttemptLoggingExecutionInterceptor.getInvocationDeadline(logger), Clock.systemUTC());
+    }
+
+    long remainingMillis() {
+        return deadlineMillis - clock.millis();
+    }
+
+    // The time a call starting now may take, zero once the invocation has run out
+    Duration callBudget() {
+        return Duration.ofMillis(Math.max(0, remainingMillis() - REPORTING_MARGIN.toMillis()));
+    }
+
+    boolean allowsAnotherCall() {
+        return callBudget().compareTo(MIN_CALL_BUDGET) >= 0;
+    }
+
+    // The request with its call and attempt timeouts cut to the call budget, keeping the rest of its override
+    // configuration, such as the credentials the handler proxy put there
+    SdkRequest withCallTimeouts(final SdkRequest request) {
+        if (!(request instanceof AwsRequest)) {
+            return request;
+        }
+        final AwsRequest awsRequest = (AwsRequest) request;
+        final Duration callTimeout = min(MAX_CALL_TIMEOUT, max(MIN_CALL_TIMEOUT, callBudget()));
+        final AwsRequestOverrideConfiguration.Builder overrideConfiguration = awsRequest.overrideConfiguration()
+            .map(AwsRequestOverrideConfiguration::toBuilder)
+            .orElseGet(AwsRequestOverrideConfiguration::builder);
+        return awsRequest.toBuilder()
+            .overrideConfiguration(overrideConfiguration
+                .apiCallTimeout(callTimeout)
+                .apiCallAttemptTimeout(min(ClientBuilder.SOCKET_TIMEOUT, callTimeout))
+                .build())
+            .build();
+    }
+
+    private static Duration min(final Duration a, final Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static Duration max(final Duration a, final Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
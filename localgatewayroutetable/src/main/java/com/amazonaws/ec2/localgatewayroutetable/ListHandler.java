@@ -8,40 +8,79 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createSuccessEventForMultipleModels;
-import static java.util.stream.Collectors.toList;
 
 public class ListHandler extends BaseHandler<CallbackContext> {
 
+    // Each List call stops before its models would serialize to more than this, and hands back a token for the rest
+    static final int DEFAULT_RESPONSE_SIZE_BUDGET = 256 * 1024;
+
+    // Fixed, so that a page asked for again with the same token holds the same route tables
+    static final int PAGE_SIZE = 100;
+
+    private final int responseSizeBudget;
+
+    public ListHandler() {
+        this(DEFAULT_RESPONSE_SIZE_BUDGET);
+    }
+
+    ListHandler(final int responseSizeBudget) {
+        this.responseSizeBudget = responseSizeBudget;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
 
-        final List<ResourceModel> models = describeAllRouteTables(proxy, ClientBuilder.getClient(logger));
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
+
+        final Ec2Client client = ClientBuilder.getClient(logger);
+        final RouteTableListToken startToken = RouteTableListToken.decode(request.getNextToken());
+        final List<ResourceModel> models = new ArrayList<>();
+        String pageToken = startToken == null ? null : startToken.getPageToken();
+        int returnedFromPage = startToken == null ? 0 : startToken.getReturnedFromPage();
+        int responseSize = 0;
+
+        do {
+            final DescribeLocalGatewayRouteTablesResponse response = describeRouteTables(pageToken, proxy, client);
+            final List<LocalGatewayRouteTable> routeTables = response.localGatewayRouteTables();
+            for (int i = returnedFromPage; i < routeTables.size(); i++) {
+                // Read reports a deleted route table as not found, so listing leaves it out as well
+                if (ReadHandler.DELETED_STATE.equals(routeTables.get(i).state())) {
+                    continue;
+                }
+                final int modelSize = Translator.estimateSerializedModelSize(routeTables.get(i));
+                // Every response returns at least one model, however large, so that listing always moves on
+                if (!models.isEmpty() && responseSize + modelSize > responseSizeBudget) {
+                    return createSuccessEventForMultipleModels(models, new RouteTableListToken(pageToken, i).encode());
+                }
+                responseSize += modelSize;
+                models.add(Translator.createModelFromRouteTable(routeTables.get(i)));
+            }
+            pageToken = response.nextToken();
+            returnedFromPage = 0;
+        } while (pageToken != null);
 
         return createSuccessEventForMultipleModels(models);
     }
 
-    private List<ResourceModel> describeAllRouteTables(
+    private DescribeLocalGatewayRouteTablesResponse describeRouteTables(
+        final String pageToken,
         final AmazonWebServicesClientProxy proxy,
         final Ec2Client client) {
-        List<LocalGatewayRouteTable> routeTables = new ArrayList<>();
-        String nextToken = null;
-
-        do {
-            final DescribeLocalGatewayRouteTablesRequest request = DescribeLocalGatewayRouteTablesRequest
-                    .builder()
-                    .nextToken(nextToken)
-                    .build();
-            final DescribeLocalGatewayRouteTablesResponse response = proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTables);
-            nextToken = response.nextToken();
-            routeTables.addAll(response.localGatewayRouteTables());
-        } while (nextToken != null);
-        return routeTables
-                .stream()
-                .map(Translator::createModelFromRouteTable)
-                .collect(toList());
+        final DescribeLocalGatewayRouteTablesRequest request = DescribeLocalGatewayRouteTablesRequest
+                .builder()
+                .maxResults(PAGE_SIZE)
+                .nextToken(pageToken)
+                .build();
+        return proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTables);
     }
 }
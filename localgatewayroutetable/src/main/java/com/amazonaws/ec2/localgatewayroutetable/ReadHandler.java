@@ -13,22 +13,35 @@ import static com.amazonaws.ec2.localgatewayroutetable.Translator.createModelFro
 
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
+    // EC2 goes on describing a route table in this state for a while after it is gone, so it counts as not found
+    static final String DELETED_STATE = "deleted";
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
 
-        return createSuccessEvent(describeRouteTable(model.getLocalGatewayRouteTableId(), proxy, ClientBuilder.getClient(logger)));
+        return createSuccessEvent(describeRouteTable(model.getLocalGatewayRouteTableId(), request, proxy, ClientBuilder.getClient(logger), logger));
     }
 
     private ResourceModel describeRouteTable(
         String localGatewayRouteTableId,
+        ResourceHandlerRequest<ResourceModel> handlerRequest,
         AmazonWebServicesClientProxy proxy,
-        Ec2Client client) {
+        Ec2Client client,
+        Logger logger) {
 
         String nextToken = null;
         LocalGatewayRouteTable routeTable = null;
@@ -38,7 +51,13 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                     .localGatewayRouteTableIds(localGatewayRouteTableId)
                     .nextToken(nextToken)
                     .build();
-            final DescribeLocalGatewayRouteTablesResponse response = proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTables);
+            final DescribeLocalGatewayRouteTablesResponse response = SingleFlight.shared().call(
+                proxy,
+                handlerRequest.getAwsAccountId(),
+                handlerRequest.getRegion(),
+                request,
+                () -> proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTables),
+                logger);
             if (response.localGatewayRouteTables().size() > 1) {
                 throw new CfnGeneralServiceException("Should be 1 route table when reading, but was " + response.localGatewayRouteTables());
             }
@@ -47,7 +66,7 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             }
             nextToken = response.nextToken();
         } while (routeTable == null && nextToken != null);
-        if (routeTable == null) {
+        if (routeTable == null || DELETED_STATE.equals(routeTable.state())) {
             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, localGatewayRouteTableId);
         }
         return createModelFromRouteTable(routeTable);
@@ -0,0 +1,46 @@
+package com.amazonaws.ec2.localgatewayroutetable;
+
+import lombok.Value;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * Continuation token for the List handler. A List response can end part way through a page of route tables, so the
+ * position is the DescribeLocalGatewayRouteTables token of that page (null for the first page) plus how many of its
+ * route tables have already been returned.
+ */
+@Value
+class RouteTableListToken {
+    private static final char SEPARATOR = '\n';
+
+    String pageToken;
+    int returnedFromPage;
+
+    static RouteTableListToken decode(final String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separator = decoded.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new CfnInvalidRequestException("Invalid next token " + token);
+            }
+            final int returnedFromPage = Integer.parseInt(decoded.substring(0, separator));
+            if (returnedFromPage < 0) {
+                throw new CfnInvalidRequestException("Invalid next token " + token);
+            }
+            final String pageToken = decoded.substring(separator + 1);
+            return new RouteTableListToken(pageToken.isEmpty() ? null : pageToken, returnedFromPage);
+        } catch (IllegalArgumentException e) {
+            throw new CfnInvalidRequestException("Invalid next token " + token, e);
+        }
+    }
+
+    String encode() {
+        final String decoded = Integer.toString(returnedFromPage) + SEPARATOR + (pageToken == null ? "" : pageToken);
+        return Base64.getUrlEncoder().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    }
+}
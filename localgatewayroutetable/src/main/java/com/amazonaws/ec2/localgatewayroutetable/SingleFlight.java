@@ -0,0 +1,118 @@
+package com.amazonaws.ec2.localgatewayroutetable;
+
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ * Lets concurrent identical read calls in one JVM share a single EC2 call. The first caller makes the call and every
+ * caller that asks for the same request through the same proxy while it is in flight gets its result, or its exception.
+ * The proxy holds the credentials and deadline of one invocation, so a caller is never answered by a call made with
+ * another invocation's. Nothing is kept once the call has finished, so a later caller always makes a call of its own.
+ */
+final class SingleFlight {
+    private static final SingleFlight SHARED = new SingleFlight();
+
+    private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> savedCalls = new ConcurrentHashMap<>();
+
+    static SingleFlight shared() {
+        return SHARED;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T call(
+        final AmazonWebServicesClientProxy proxy,
+        final String accountId,
+        final String region,
+        final SdkRequest request,
+        final Supplier<T> call,
+        final Logger logger) {
+        final String operation = request.getClass().getSimpleName().replaceFirst("Request$", "");
+        final List<Object> key = key(proxy, accountId, region, request);
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, result);
+
+        if (existing != null) {
+            savedCalls.computeIfAbsent(operation, name -> new LongAdder()).increment();
+            // Reported with the rest of the invocation's metrics, a log line here would cost a call of its own
+            InvocationMetrics.of(logger).callShared();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        calls.computeIfAbsent(operation, name -> new LongAdder()).increment();
+        try {
+            final T value = call.get();
+            inFlight.remove(key, result);
+            result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, result);
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    long getCalls(final String operation) {
+        final LongAdder count = calls.get(operation);
+        return count == null ? 0 : count.sum();
+    }
+
+    long getSavedCalls(final String operation) {
+        final LongAdder count = savedCalls.get(operation);
+        return count == null ? 0 : count.sum();
+    }
+
+    // Requests that differ only in the order of list members, such as IDs or filter values, ask for the same thing
+    static List<Object> key(
+        final AmazonWebServicesClientProxy proxy,
+        final String accountId,
+        final String region,
+        final SdkRequest request) {
+        final List<Object> key = new ArrayList<>();
+        // The proxy does not override equals, so the key matches only callers of the same invocation
+        key.add(proxy);
+        key.add(accountId);
+        key.add(region);
+        key.add(request.getClass());
+        key.add(normalise(request));
+        return key;
+    }
+
+    private static Object normalise(final Object value) {
+        if (value instanceof SdkPojo) {
+            final List<Object> fields = new ArrayList<>();
+            for (final SdkField<?> field : ((SdkPojo) value).sdkFields()) {
+                fields.add(normalise(field.getValueOrDefault(value)));
+            }
+            return fields;
+        }
+        if (value instanceof Collection) {
+            final List<Object> members = new ArrayList<>();
+            for (final Object member : (Collection<?>) value) {
+                members.add(normalise(member));
+            }
+            members.sort(Comparator.comparing(String::valueOf));
+            return members;
+        }
+        return value;
+    }
+}
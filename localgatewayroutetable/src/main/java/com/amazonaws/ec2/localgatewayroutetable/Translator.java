@@ -1,13 +1,18 @@
 package com.amazonaws.ec2.localgatewayroutetable;
 
+import software.amazon.awssdk.services.ec2.model.Ec2Exception;
 import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteTable;
+import software.amazon.awssdk.services.ec2.model.Tag;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 
-import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 class Translator {
+    // Property names, quotes and separators of a serialized model, and of each of its tags
+    private static final int MODEL_OVERHEAD = 220;
+    private static final int TAG_OVERHEAD = 24;
+
     private Translator() {
     }
 
@@ -20,10 +25,31 @@ class Translator {
                 .outpostArn(routeTable.outpostArn())
                 .mode(routeTable.modeAsString())
                 .state(routeTable.state())
-                .tags(TagHelper.createCfnTagsFromSdkTags(new HashSet<>(routeTable.tags())))
+                .tags(TagHelper.createCfnTagsFromSdkTags(routeTable.tags()))
                 .build();
     }
 
+    // Roughly the size in bytes of the model for a route table once serialized to JSON, worked out from the SDK object
+    // so that route tables that don't make it into a List response are never translated
+    static int estimateSerializedModelSize(LocalGatewayRouteTable routeTable) {
+        int size = MODEL_OVERHEAD
+                + length(routeTable.localGatewayRouteTableId())
+                + length(routeTable.localGatewayRouteTableArn())
+                + length(routeTable.localGatewayId())
+                + length(routeTable.ownerId())
+                + length(routeTable.outpostArn())
+                + length(routeTable.modeAsString())
+                + length(routeTable.state());
+        for (final Tag tag : routeTable.tags()) {
+            size += TAG_OVERHEAD + length(tag.key()) + length(tag.value());
+        }
+        return size;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
     static HandlerErrorCode getHandlerErrorForEc2Error(final String errorCode) {
         switch (errorCode) {
             case "UnauthorizedOperation":
@@ -32,8 +58,24 @@ class Translator {
                 return HandlerErrorCode.InvalidRequest;
             case "InvalidLocalGatewayRouteTableID.NotFound":
                 return HandlerErrorCode.NotFound;
+            case "RequestLimitExceeded":
+            case "Throttling":
+                return HandlerErrorCode.Throttling;
+            case "InternalError":
+            case "ServiceUnavailable":
+            case "Unavailable":
+                return HandlerErrorCode.ServiceInternalError;
             default:
                 return HandlerErrorCode.GeneralServiceException;
         }
     }
+
+    // Throttling and server side failures are worth trying again later, the request itself was fine
+    static boolean isTransientEc2Error(final Ec2Exception e) {
+        final HandlerErrorCode errorCode = getHandlerErrorForEc2Error(e.awsErrorDetails().errorCode());
+        return e.isThrottlingException()
+                || e.statusCode() >= 500
+                || errorCode == HandlerErrorCode.Throttling
+                || errorCode == HandlerErrorCode.ServiceInternalError;
+    }
 }
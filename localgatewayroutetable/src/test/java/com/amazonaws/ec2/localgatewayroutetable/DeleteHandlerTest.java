@@ -21,12 +21,13 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.Collections;
 
-import static com.amazonaws.ec2.localgatewayroutetable.CallbackContext.POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.FIRST_POLLING_DELAY_SECONDS;
 import static com.amazonaws.ec2.localgatewayroutetable.Translator.createModelFromRouteTable;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,6 +51,11 @@ public class DeleteHandlerTest extends TestBase {
             .deleteStarted(true)
             .build();
 
+    private final DescribeLocalGatewayRouteTablesResponse FOUND_RESPONSE = DescribeLocalGatewayRouteTablesResponse
+            .builder()
+            .localGatewayRouteTables(TEST_ROUTE_TABLE)
+            .build();
+
     @BeforeEach
     public void setup() {
         proxy = mock(AmazonWebServicesClientProxy.class);
@@ -64,9 +70,9 @@ public class DeleteHandlerTest extends TestBase {
                 .build();
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
-                .thenReturn(describeResponse);
+                .thenReturn(FOUND_RESPONSE, describeResponse);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -86,11 +92,6 @@ public class DeleteHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_DeleteNotStarted_Failed() {
-        final DescribeLocalGatewayRouteTablesResponse describeResponse = DescribeLocalGatewayRouteTablesResponse
-                .builder()
-                .localGatewayRouteTables(Collections.emptyList())
-                .build();
-
         final AwsErrorDetails errorDetails = AwsErrorDetails.builder()
                 .errorCode("UnexpectedError")
                 .build();
@@ -101,11 +102,11 @@ public class DeleteHandlerTest extends TestBase {
                 .build();
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
-                .thenReturn(describeResponse);
+                .thenReturn(FOUND_RESPONSE);
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteTableRequest.class), any()))
                 .thenThrow(unexpectedException);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -132,14 +133,100 @@ public class DeleteHandlerTest extends TestBase {
                 .awsErrorDetails(errorDetails)
                 .build();
 
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(FOUND_RESPONSE);
         when(proxy.injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteTableRequest.class), any()))
                 .thenThrow(notFoundException);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void handleRequest_DeletedWhilePolling_Success() {
+        final DescribeLocalGatewayRouteTablesResponse describeResponse = DescribeLocalGatewayRouteTablesResponse
+            .builder()
+            .localGatewayRouteTables(TEST_ROUTE_TABLE)
+            .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+            .thenReturn(describeResponse, DescribeLocalGatewayRouteTablesResponse.builder().build());
+
+        final DeleteHandler handler = new DeleteHandler(new InvocationPoller(3, 1));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy, times(2))
+            .injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+    }
+
+    @Test
+    public void handleRequest_DeletedStateWhilePolling_Success() {
+        final DescribeLocalGatewayRouteTablesResponse deletingResponse = DescribeLocalGatewayRouteTablesResponse
+            .builder()
+            .localGatewayRouteTables(TEST_ROUTE_TABLE.toBuilder().state("deleting").build())
+            .build();
+        final DescribeLocalGatewayRouteTablesResponse deletedResponse = DescribeLocalGatewayRouteTablesResponse
+            .builder()
+            .localGatewayRouteTables(TEST_ROUTE_TABLE.toBuilder().state("deleted").build())
+            .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+            .thenReturn(deletingResponse, deletedResponse);
+
+        final DeleteHandler handler = new DeleteHandler(new InvocationPoller(3, 1));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        // Done as soon as the route table is deleted, without waiting for EC2 to stop describing it
+        verify(proxy, times(2))
+            .injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel()).isNull();
+    }
+
+    @Test
+    public void handleRequest_AlreadyDeleted_NotFound() {
+        final DescribeLocalGatewayRouteTablesResponse deletedResponse = DescribeLocalGatewayRouteTablesResponse
+                .builder()
+                .localGatewayRouteTables(TEST_ROUTE_TABLE.toBuilder().state("deleted").build())
+                .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(deletedResponse);
+
+        // A second delete of a route table EC2 still describes as deleted does not delete it again
+        assertThrows(CfnNotFoundException.class, () -> new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger));
+        verify(proxy, never())
+                .injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteTableRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_DeletedThenDeletedAgain_NotFound() {
+        final DescribeLocalGatewayRouteTablesResponse deletedResponse = DescribeLocalGatewayRouteTablesResponse
+                .builder()
+                .localGatewayRouteTables(TEST_ROUTE_TABLE.toBuilder().state("deleted").build())
+                .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(FOUND_RESPONSE, deletedResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThrows(CfnNotFoundException.class, () -> new ReadHandler().handleRequest(proxy, request, null, logger));
+        assertThrows(CfnNotFoundException.class, () -> new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger));
+        verify(proxy, times(1))
+                .injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteTableRequest.class), any());
+    }
+
     @Test
     public void handleRequest_InProgress() {
         final DescribeLocalGatewayRouteTablesResponse describeResponse = DescribeLocalGatewayRouteTablesResponse
@@ -150,7 +237,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
                 .thenReturn(describeResponse);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -160,8 +247,9 @@ public class DeleteHandlerTest extends TestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().isDeleteStarted()).isTrue();
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromRouteTable(TEST_ROUTE_TABLE));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -178,7 +266,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
                 .thenReturn(describeResponse);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, inProgressContext, logger);
@@ -210,7 +298,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
                 .thenThrow(unauthorizedException);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, inProgressContext, logger);
@@ -224,4 +312,20 @@ public class DeleteHandlerTest extends TestBase {
         assertThat(response.getMessage()).isNotNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
+
+    @Test
+    public void handleRequest_DeleteNotStarted_OutOfTime_InProgress() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any()))
+                .thenReturn(FOUND_RESPONSE);
+        AttemptLoggingExecutionInterceptor.setInvocationDeadline(logger, System.currentTimeMillis() + 5_000);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger);
+
+        verify(proxy).injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteTableRequest.class), any());
+        // Only the read made before the delete
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTablesRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isDeleteStarted()).isTrue();
+    }
 }
@@ -11,12 +11,19 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import java.util.Arrays;
 
 import static com.amazonaws.ec2.localgatewayroutetable.CallbackContext.POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.FIRST_POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.MAX_POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.MAX_THROTTLED_ATTEMPTS;
+import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.MAX_THROTTLED_DELAY_SECONDS;
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createFailedEvent;
+import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createFailedOrRescheduledEvent;
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createFailedReadOnlyPropertyEvent;
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createInProgressEvent;
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createNotUpdatableEvent;
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createSuccessEvent;
 import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.createSuccessEventForMultipleModels;
+import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.getPollingDelaySeconds;
+import static com.amazonaws.ec2.localgatewayroutetable.EventGenerator.getThrottledDelaySeconds;
 import static com.amazonaws.ec2.localgatewayroutetable.Translator.getHandlerErrorForEc2Error;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -51,11 +58,49 @@ public class EventGeneratorTest extends TestBase {
         CallbackContext context = new CallbackContext();
         ProgressEvent<ResourceModel, CallbackContext> expectedEvent = ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .callbackContext(context)
-                .callbackDelaySeconds(POLLING_DELAY_SECONDS)
+                .callbackDelaySeconds(FIRST_POLLING_DELAY_SECONDS)
                 .status(OperationStatus.IN_PROGRESS)
                 .resourceModel(model)
                 .build();
         assertThat(createInProgressEvent(model, context)).isEqualTo(expectedEvent);
+        assertThat(context.getStabilizationAttempts()).isEqualTo(1);
+        assertThat(context.getStabilizationStartedAt()).isGreaterThan(0);
+    }
+
+    @Test
+    public void testGetPollingDelaySeconds_BacksOffToCap() {
+        CallbackContext context = new CallbackContext();
+        assertThat(getPollingDelaySeconds(context, 1_000L)).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
+        assertThat(context.getStabilizationStartedAt()).isEqualTo(1_000L);
+        assertThat(getPollingDelaySeconds(context, 3_000L)).isBetween(1, 2);
+        assertThat(getPollingDelaySeconds(context, 6_000L)).isBetween(2, 4);
+        assertThat(getPollingDelaySeconds(context, 10_000L)).isBetween(4, 8);
+        assertThat(context.getStabilizationAttempts()).isEqualTo(4);
+        assertThat(context.getStabilizationStartedAt()).isEqualTo(1_000L);
+
+        context.setStabilizationAttempts(10);
+        for (int i = 0; i < 100; i++) {
+            assertThat(getPollingDelaySeconds(context, 10_000L)).isBetween(MAX_POLLING_DELAY_SECONDS / 2, MAX_POLLING_DELAY_SECONDS);
+        }
+    }
+
+    @Test
+    public void testGetPollingDelaySeconds_LongWaitWithoutAttempts() {
+        CallbackContext context = CallbackContext.builder().stabilizationAttempts(1).stabilizationStartedAt(1_000L).build();
+        assertThat(getPollingDelaySeconds(context, 81_000L)).isBetween(10, 20);
+    }
+
+    @Test
+    public void testStabilizingFrom() {
+        CallbackContext previous = CallbackContext.builder()
+                .createStarted(true)
+                .throttledAttempts(2)
+                .stabilizationAttempts(3)
+                .stabilizationStartedAt(1_000L)
+                .build();
+        assertThat(CallbackContext.stabilizingFrom(previous).createStarted(true).build())
+                .isEqualTo(CallbackContext.builder().createStarted(true).stabilizationAttempts(3).stabilizationStartedAt(1_000L).build());
+        assertThat(CallbackContext.stabilizingFrom(null).build()).isEqualTo(new CallbackContext());
     }
 
     @Test
@@ -96,4 +141,51 @@ public class EventGeneratorTest extends TestBase {
                 .build();
         assertThat(createNotUpdatableEvent(model, nonUpdatableProperty)).isEqualTo(expectedEvent);
     }
+
+    @Test
+    public void testCreateFailedOrRescheduledEvent_Throttled_InProgress() {
+        Ec2Exception exception = buildEc2Exception("RequestLimitExceeded");
+        CallbackContext context = CallbackContext.builder().createStarted(true).build();
+
+        ProgressEvent<ResourceModel, CallbackContext> event = createFailedOrRescheduledEvent(model, context, exception);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(event.getResourceModel()).isEqualTo(model);
+        assertThat(event.getCallbackContext()).isEqualTo(CallbackContext.builder().createStarted(true).throttledAttempts(1).build());
+        assertThat(event.getCallbackDelaySeconds()).isBetween(POLLING_DELAY_SECONDS / 2, POLLING_DELAY_SECONDS);
+        assertThat(event.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void testCreateFailedOrRescheduledEvent_TooManyThrottles_Failed() {
+        Ec2Exception exception = buildEc2Exception("RequestLimitExceeded");
+        CallbackContext context = CallbackContext.builder().createStarted(true).throttledAttempts(MAX_THROTTLED_ATTEMPTS).build();
+
+        assertThat(createFailedOrRescheduledEvent(model, context, exception)).isEqualTo(createFailedEvent(model, exception));
+        assertThat(createFailedEvent(model, exception).getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+    }
+
+    @Test
+    public void testCreateFailedOrRescheduledEvent_NotTransient_Failed() {
+        Ec2Exception exception = buildEc2Exception("UnauthorizedOperation");
+        CallbackContext context = CallbackContext.builder().createStarted(true).build();
+
+        assertThat(createFailedOrRescheduledEvent(model, context, exception)).isEqualTo(createFailedEvent(model, exception));
+    }
+
+    @Test
+    public void testGetThrottledDelaySeconds() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(getThrottledDelaySeconds(1)).isBetween(POLLING_DELAY_SECONDS / 2, POLLING_DELAY_SECONDS);
+            assertThat(getThrottledDelaySeconds(3)).isBetween(POLLING_DELAY_SECONDS * 2, POLLING_DELAY_SECONDS * 4);
+            assertThat(getThrottledDelaySeconds(MAX_THROTTLED_ATTEMPTS)).isBetween(MAX_THROTTLED_DELAY_SECONDS / 2, MAX_THROTTLED_DELAY_SECONDS);
+        }
+    }
+
+    private static Ec2Exception buildEc2Exception(String errorCode) {
+        return (Ec2Exception) Ec2Exception.builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).build())
+                .message(errorCode)
+                .build();
+    }
 }
@@ -0,0 +1,71 @@
+package com.amazonaws.ec2.localgatewayroutetable;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.services.ec2.model.DescribeTagsRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvocationDeadlineTest {
+    private static final Instant NOW = Instant.parse("2023-01-01T00:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    public void testCallBudgetKeepsReportingMargin() {
+        final InvocationDeadline deadline = deadlineIn(Duration.ofSeconds(30));
+
+        assertThat(deadline.remainingMillis()).isEqualTo(30_000);
+        assertThat(deadline.callBudget()).isEqualTo(Duration.ofSeconds(28));
+        assertThat(deadline.allowsAnotherCall()).isTrue();
+    }
+
+    @Test
+    public void testNoFurtherCallsNearTheDeadline() {
+        assertThat(deadlineIn(Duration.ofSeconds(11)).allowsAnotherCall()).isFalse();
+        assertThat(deadlineIn(Duration.ofSeconds(-5)).callBudget()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void testCallTimeoutsCutToBudgetKeepingCredentials() {
+        final StaticCredentialsProvider credentials = StaticCredentialsProvider.create(AwsBasicCredentials.create("id", "secret"));
+        final DescribeTagsRequest request = DescribeTagsRequest.builder()
+            .overrideConfiguration(AwsRequestOverrideConfiguration.builder().credentialsProvider(credentials).build())
+            .build();
+
+        final AwsRequestOverrideConfiguration configuration = overrideOf(deadlineIn(Duration.ofSeconds(20)).withCallTimeouts(request));
+
+        assertThat(configuration.credentialsProvider()).contains(credentials);
+        assertThat(configuration.apiCallTimeout()).contains(Duration.ofSeconds(18));
+        assertThat(configuration.apiCallAttemptTimeout()).contains(Duration.ofSeconds(18));
+    }
+
+    @Test
+    public void testCallTimeoutsStayWithinBounds() {
+        final DescribeTagsRequest request = DescribeTagsRequest.builder().build();
+
+        final AwsRequestOverrideConfiguration late = overrideOf(deadlineIn(Duration.ZERO).withCallTimeouts(request));
+        final AwsRequestOverrideConfiguration early = overrideOf(deadlineIn(Duration.ofMinutes(5)).withCallTimeouts(request));
+
+        assertThat(late.apiCallTimeout()).contains(InvocationDeadline.MIN_CALL_TIMEOUT);
+        assertThat(late.apiCallAttemptTimeout()).contains(InvocationDeadline.MIN_CALL_TIMEOUT);
+        assertThat(early.apiCallTimeout()).contains(InvocationDeadline.MAX_CALL_TIMEOUT);
+        assertThat(early.apiCallAttemptTimeout()).contains(ClientBuilder.SOCKET_TIMEOUT);
+    }
+
+    private InvocationDeadline deadlineIn(final Duration remaining) {
+        return new InvocationDeadline(NOW.plus(remaining).toEpochMilli(), clock);
+    }
+
+    private static AwsRequestOverrideConfiguration overrideOf(final Object request) {
+        return ((AwsRequest) request).overrideConfiguration().get();
+    }
+}
@@ -3,9 +3,12 @@ package com.amazonaws.ec2.localgatewayroutetable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTablesRequest;
 import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTablesResponse;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
@@ -17,7 +20,10 @@ import java.util.Arrays;
 import static com.amazonaws.ec2.localgatewayroutetable.Translator.createModelFromRouteTable;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -77,4 +83,83 @@ public class ListHandlerTest extends TestBase {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
+
+    @Test
+    public void handleRequest_SkipsDeleted() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        final DescribeLocalGatewayRouteTablesResponse describeResponse = DescribeLocalGatewayRouteTablesResponse
+                .builder()
+                .localGatewayRouteTables(TEST_ROUTE_TABLE.toBuilder().state("deleted").build(), TEST_ROUTE_TABLE)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+                .thenReturn(describeResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new ListHandler().handleRequest(proxy, request, null, logger);
+
+        // Read reports a deleted route table as not found, so it is not listed either
+        assertThat(response.getResourceModels()).containsExactly(createModelFromRouteTable(TEST_ROUTE_TABLE));
+    }
+
+    @Test
+    public void handleRequest_StopsAtResponseSizeBudget() {
+        final DescribeLocalGatewayRouteTablesResponse firstPage = DescribeLocalGatewayRouteTablesResponse
+                .builder()
+                .localGatewayRouteTables(PENDING_ROUTE_TABLE, TEST_ROUTE_TABLE)
+                .nextToken("token")
+                .build();
+        final DescribeLocalGatewayRouteTablesResponse secondPage = DescribeLocalGatewayRouteTablesResponse
+                .builder()
+                .localGatewayRouteTables(TEST_ROUTE_TABLE_WITH_TAGS)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+                .thenReturn(firstPage)
+                .thenReturn(firstPage)
+                .thenReturn(secondPage);
+        final ListHandler handler = new ListHandler(Translator.estimateSerializedModelSize(PENDING_ROUTE_TABLE) + 1);
+
+        final ProgressEvent<ResourceModel, CallbackContext> firstResponse = handler.handleRequest(proxy, requestWithToken(null), null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> secondResponse =
+                handler.handleRequest(proxy, requestWithToken(firstResponse.getNextToken()), null, logger);
+
+        assertThat(firstResponse.getResourceModels()).containsExactly(createModelFromRouteTable(PENDING_ROUTE_TABLE));
+        assertThat(secondResponse.getResourceModels()).containsExactly(createModelFromRouteTable(TEST_ROUTE_TABLE));
+        assertThat(secondResponse.getNextToken()).isEqualTo(new RouteTableListToken("token", 0).encode());
+
+        final ArgumentCaptor<DescribeLocalGatewayRouteTablesRequest> describeRequests = ArgumentCaptor.forClass(DescribeLocalGatewayRouteTablesRequest.class);
+        verify(proxy, times(3)).injectCredentialsAndInvokeV2(describeRequests.capture(), any());
+        assertThat(describeRequests.getAllValues()).extracting(DescribeLocalGatewayRouteTablesRequest::nextToken)
+                .containsExactly(null, null, "token");
+        assertThat(describeRequests.getValue().maxResults()).isEqualTo(ListHandler.PAGE_SIZE);
+    }
+
+    @Test
+    public void handleRequest_InvalidToken() {
+        assertThrows(CfnInvalidRequestException.class,
+                () -> new ListHandler().handleRequest(proxy, requestWithToken("not a token"), null, logger));
+    }
+
+    @Test
+    public void handleRequest_NegativeTokenPosition() {
+        final String token = new RouteTableListToken("token", -1).encode();
+        assertThrows(CfnInvalidRequestException.class,
+                () -> new ListHandler().handleRequest(proxy, requestWithToken(token), null, logger));
+    }
+
+    @Test
+    public void estimateSerializedModelSize_GrowsWithTags() {
+        assertThat(Translator.estimateSerializedModelSize(TEST_ROUTE_TABLE_WITH_TAGS))
+                .isGreaterThan(Translator.estimateSerializedModelSize(TEST_ROUTE_TABLE));
+    }
+
+    private ResourceHandlerRequest<ResourceModel> requestWithToken(String nextToken) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .nextToken(nextToken)
+                .build();
+    }
 }
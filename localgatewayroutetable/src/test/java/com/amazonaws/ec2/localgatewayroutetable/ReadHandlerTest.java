@@ -97,6 +97,22 @@ public class ReadHandlerTest extends TestBase {
         assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void handleRequest_Deleted_Fails() {
+        final ReadHandler handler = new ReadHandler();
+
+        // EC2 goes on describing a route table as deleted after a successful delete
+        final DescribeLocalGatewayRouteTablesResponse response = DescribeLocalGatewayRouteTablesResponse
+                .builder()
+                .localGatewayRouteTables(TEST_ROUTE_TABLE.toBuilder().state("deleted").build())
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+                .thenReturn(response);
+
+        assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
     @Test
     public void handleRequest_MultipleRouteTables_Fails() {
         final ReadHandler handler = new ReadHandler();
@@ -0,0 +1,143 @@
+package com.amazonaws.ec2.localgatewayroutetable;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTablesRequest;
+import software.amazon.awssdk.services.ec2.model.Filter;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class SingleFlightTest {
+    private static final String OPERATION = "DescribeLocalGatewayRouteTables";
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String REGION = "us-west-2";
+
+    private final DescribeLocalGatewayRouteTablesRequest request = DescribeLocalGatewayRouteTablesRequest.builder()
+        .localGatewayRouteTableIds("lgw-rtb-1")
+        .build();
+    private final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+    private final Logger logger = mock(Logger.class);
+
+    @Test
+    public void testConcurrentIdenticalCallsShareOneCall() throws Exception {
+        final SingleFlight singleFlight = new SingleFlight();
+        final CountDownLatch leaderCalling = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger callsMade = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<String> leader = executor.submit(() -> singleFlight.call(proxy, ACCOUNT_ID, REGION, request, () -> {
+                callsMade.incrementAndGet();
+                leaderCalling.countDown();
+                await(release);
+                return "result";
+            }, logger));
+            assertThat(leaderCalling.await(10, TimeUnit.SECONDS)).isTrue();
+
+            final Future<String> follower = executor.submit(() -> singleFlight.call(proxy, ACCOUNT_ID, REGION, request, () -> {
+                callsMade.incrementAndGet();
+                return "other result";
+            }, logger));
+            while (singleFlight.getSavedCalls(OPERATION) == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertThat(leader.get(10, TimeUnit.SECONDS)).isEqualTo("result");
+            assertThat(follower.get(10, TimeUnit.SECONDS)).isEqualTo("result");
+            assertThat(callsMade.get()).isEqualTo(1);
+            assertThat(singleFlight.getCalls(OPERATION)).isEqualTo(1);
+            assertThat(singleFlight.getSavedCalls(OPERATION)).isEqualTo(1);
+            // Counted for the invocation instead of logged straight away
+            assertThat(InvocationMetrics.of(logger).toEmfLine(0)).contains("\"SharedCalls\":1");
+            verifyZeroInteractions(logger);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsSharedWithWaitingCallers() throws Exception {
+        final SingleFlight singleFlight = new SingleFlight();
+        final CountDownLatch leaderCalling = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final IllegalStateException failure = new IllegalStateException("throttled");
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<String> leader = executor.submit(() -> singleFlight.<String>call(proxy, ACCOUNT_ID, REGION, request, () -> {
+                leaderCalling.countDown();
+                await(release);
+                throw failure;
+            }, logger));
+            assertThat(leaderCalling.await(10, TimeUnit.SECONDS)).isTrue();
+            final Future<String> follower = executor.submit(() -> singleFlight.call(proxy, ACCOUNT_ID, REGION, request, () -> "unused", logger));
+            while (singleFlight.getSavedCalls(OPERATION) == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertSame(failure, assertThrows(Exception.class, () -> leader.get(10, TimeUnit.SECONDS)).getCause());
+            assertSame(failure, assertThrows(Exception.class, () -> follower.get(10, TimeUnit.SECONDS)).getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFinishedCallsAreNotReused() {
+        final SingleFlight singleFlight = new SingleFlight();
+
+        assertThat(singleFlight.call(proxy, ACCOUNT_ID, REGION, request, () -> "first", logger)).isEqualTo("first");
+        assertThat(singleFlight.call(proxy, ACCOUNT_ID, REGION, request, () -> "second", logger)).isEqualTo("second");
+        assertThrows(IllegalStateException.class, () -> singleFlight.call(proxy, ACCOUNT_ID, REGION, request, () -> {
+            throw new IllegalStateException();
+        }, logger));
+        assertThat(singleFlight.call(proxy, ACCOUNT_ID, REGION, request, () -> "third", logger)).isEqualTo("third");
+
+        assertThat(singleFlight.getCalls(OPERATION)).isEqualTo(4);
+        assertThat(singleFlight.getSavedCalls(OPERATION)).isEqualTo(0);
+    }
+
+    @Test
+    public void testKeyIgnoresListOrder() {
+        final DescribeLocalGatewayRouteTablesRequest first = DescribeLocalGatewayRouteTablesRequest.builder()
+            .localGatewayRouteTableIds("lgw-rtb-1", "lgw-rtb-2")
+            .filters(Filter.builder().name("state").values("available", "pending").build())
+            .build();
+        final DescribeLocalGatewayRouteTablesRequest reordered = DescribeLocalGatewayRouteTablesRequest.builder()
+            .localGatewayRouteTableIds("lgw-rtb-2", "lgw-rtb-1")
+            .filters(Filter.builder().name("state").values("pending", "available").build())
+            .build();
+        final DescribeLocalGatewayRouteTablesRequest otherFilter = first.toBuilder()
+            .filters(Filter.builder().name("state").values("available").build())
+            .build();
+
+        assertThat(SingleFlight.key(proxy, ACCOUNT_ID, REGION, first)).isEqualTo(SingleFlight.key(proxy, ACCOUNT_ID, REGION, reordered));
+        assertThat(SingleFlight.key(proxy, ACCOUNT_ID, REGION, first)).isNotEqualTo(SingleFlight.key(proxy, ACCOUNT_ID, REGION, otherFilter));
+        assertThat(SingleFlight.key(proxy, ACCOUNT_ID, REGION, first)).isNotEqualTo(SingleFlight.key(proxy, "210987654321", REGION, first));
+        assertThat(SingleFlight.key(proxy, ACCOUNT_ID, REGION, first)).isNotEqualTo(SingleFlight.key(proxy, ACCOUNT_ID, "us-east-1", first));
+        // Another invocation's proxy carries other credentials and another deadline
+        assertThat(SingleFlight.key(proxy, ACCOUNT_ID, REGION, first))
+            .isNotEqualTo(SingleFlight.key(mock(AmazonWebServicesClientProxy.class), ACCOUNT_ID, REGION, first));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
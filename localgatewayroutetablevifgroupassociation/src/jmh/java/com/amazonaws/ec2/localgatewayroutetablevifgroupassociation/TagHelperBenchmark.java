@@ -0,0 +1,100 @@
+package com.amazonaws.ec2.localgatewayroutetablevifgroupassociation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/*
+ * TagHelper conversions between the three tag shapes, and the tag diff of an update against the whole-tag diff it
+ * replaced, at tag counts from none up to EC2's limit of 50. Run with
+ *
+ *   mvn -Pbenchmark verify -DskipTests -Dbenchmark=TagHelperBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagHelperBenchmark {
+    @Param({"0", "5", "50"})
+    public int tagCount;
+
+    private Set<software.amazon.awssdk.services.ec2.model.Tag> sdkTags;
+    private Set<Tag> cfnTags;
+    private Set<Tag> desiredCfnTags;
+    private ResourceHandlerRequest<ResourceModel> request;
+
+    @Setup
+    public void setup() {
+        sdkTags = new HashSet<>();
+        cfnTags = new HashSet<>();
+        desiredCfnTags = new HashSet<>();
+        final Map<String, String> stackTags = new HashMap<>();
+        for (int i = 0; i < tagCount; i++) {
+            sdkTags.add(software.amazon.awssdk.services.ec2.model.Tag.builder().key("Key" + i).value("Value" + i).build());
+            cfnTags.add(Tag.builder().key("Key" + i).value("Value" + i).build());
+            stackTags.put("StackKey" + i, "StackValue" + i);
+            // Every other value changed, and the last key dropped
+            if (i < tagCount - 1) {
+                desiredCfnTags.add(Tag.builder().key("Key" + i).value(i % 2 == 0 ? "Changed" + i : "Value" + i).build());
+            }
+        }
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().tags(cfnTags).build())
+            .desiredResourceTags(stackTags)
+            .build();
+    }
+
+    @Benchmark
+    public Set<Tag> createCfnTagsFromSdkTags() {
+        return TagHelper.createCfnTagsFromSdkTags(sdkTags);
+    }
+
+    @Benchmark
+    public Set<software.amazon.awssdk.services.ec2.model.Tag> createSdkTagsFromCfnTags() {
+        return TagHelper.createSdkTagsFromCfnTags(cfnTags);
+    }
+
+    @Benchmark
+    public Set<Tag> getAllResourceTags() {
+        return TagHelper.getAllResourceTags(request);
+    }
+
+    @Benchmark
+    public TagHelper.TagDiff diffTags() {
+        return TagHelper.diffTags(cfnTags, desiredCfnTags);
+    }
+
+    // The diff of whole tags that UpdateHandler used before, deleting every changed value as well
+    @Benchmark
+    public Set<Tag> diffWholeTagsBaseline() {
+        final Set<Tag> tagsToCreate = desiredCfnTags
+            .stream()
+            .filter(tag -> !cfnTags.contains(tag))
+            .collect(Collectors.toSet());
+        final Set<Tag> tagsToDelete = cfnTags
+            .stream()
+            .filter(tag -> !desiredCfnTags.contains(tag))
+            .collect(Collectors.toSet());
+        tagsToCreate.addAll(tagsToDelete);
+        return tagsToCreate;
+    }
+}
@@ -0,0 +1,74 @@
+package com.amazonaws.ec2.localgatewayroutetablevifgroupassociation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Attempt timings and outcomes of a single EC2 API call, added to the metrics of its invocation once the call is done.
+ */
+final class CallMetrics {
+    static final String NAMESPACE = "CloudFormation/EC2LocalGateway";
+
+    private final String operation;
+    private final long startNanos;
+    private final List<Long> attemptLatenciesMillis = new ArrayList<>(2);
+    private long attemptStartNanos = -1;
+    private int throttles;
+    private int classifiedAttempts;
+
+    CallMetrics(final String operation, final long startNanos) {
+        this.operation = operation;
+        this.startNanos = startNanos;
+    }
+
+    void attemptStarted(final long nowNanos) {
+        // An attempt that never got a response, e.g. a socket timeout, is still an attempt
+        attemptFinished(nowNanos);
+        attemptStartNanos = nowNanos;
+    }
+
+    void attemptFinished(final long nowNanos) {
+        if (attemptStartNanos < 0) {
+            return;
+        }
+        attemptLatenciesMillis.add((nowNanos - attemptStartNanos) / 1_000_000);
+        attemptStartNanos = -1;
+    }
+
+    // Called by the retry condition for each failed attempt it is asked about
+    void failedAttemptClassified(final boolean throttled) {
+        classifiedAttempts++;
+        if (throttled) {
+            throttles++;
+        }
+    }
+
+    void callFailed(final long nowNanos, final boolean throttled) {
+        attemptFinished(nowNanos);
+        // The retry condition is not asked about the last attempt once retries have run out
+        if (classifiedAttempts < attemptLatenciesMillis.size() && throttled) {
+            throttles++;
+        }
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    List<Long> getAttemptLatenciesMillis() {
+        return attemptLatenciesMillis;
+    }
+
+    long getCallLatencyMillis(final long nowNanos) {
+        attemptFinished(nowNanos);
+        return (nowNanos - startNanos) / 1_000_000;
+    }
+
+    int getAttempts() {
+        return attemptLatenciesMillis.size();
+    }
+
+    int getThrottles() {
+        return throttles;
+    }
+}
@@ -17,8 +17,26 @@ public class CallbackContext {
     private boolean deleteStarted;
     private boolean updateStarted;
 
+    // Consecutive invocations that ended because EC2 throttled or failed a call
+    private int throttledAttempts;
+
+    // Polls made while waiting for the resource to stabilize, and when the first of them was made (epoch millis)
+    private int stabilizationAttempts;
+    private long stabilizationStartedAt;
+
     private Set<Tag> tagsToCreate;
     private Set<Tag> tagsToDelete;
 
     public static final int POLLING_DELAY_SECONDS = 5;
-}
\ No newline at end of file
+
+    // Builder for the context of the next invocation, carrying over how long the workflow has been waiting for the
+    // resource to stabilize
+    static CallbackContextBuilder stabilizingFrom(CallbackContext callbackContext) {
+        if (callbackContext == null) {
+            return CallbackContext.builder();
+        }
+        return CallbackContext.builder()
+                .stabilizationAttempts(callbackContext.getStabilizationAttempts())
+                .stabilizationStartedAt(callbackContext.getStabilizationStartedAt());
+    }
+}
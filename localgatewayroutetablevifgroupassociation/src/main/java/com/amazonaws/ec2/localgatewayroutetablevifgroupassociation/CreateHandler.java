@@ -10,6 +10,7 @@ import software.amazon.cloudformation.proxy.*;
 import java.util.Set;
 
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createFailedEvent;
+import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createFailedOrRescheduledEvent;
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createFailedReadOnlyPropertyEvent;
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createInProgressEvent;
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createSuccessEvent;
@@ -17,15 +18,33 @@ import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.Transl
 
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
+    private final InvocationPoller poller;
+
+    public CreateHandler() {
+        this(InvocationPoller.defaultPoller());
+    }
+
+    CreateHandler(final InvocationPoller poller) {
+        this.poller = poller;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
-        final ResourceModel resultModel;
+        ResourceModel resultModel;
 
         final Ec2Client client = ClientBuilder.getClient(logger);
 
@@ -62,13 +81,20 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         final ReadHandler readHandler = new ReadHandler();
         try {
             resultModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            for (int polls = 0; !"associated".equals(resultModel.getState()) && poller.awaitNextPoll(polls, logger); polls++) {
+                resultModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            }
             if (!"associated".equals(resultModel.getState())) {
-                return createInProgressEventForCreate(resultModel);
+                return createInProgressEventForCreate(resultModel, callbackContext);
             }
         } catch (CfnNotFoundException e) {
-            return createInProgressEventForCreate(model);
+            return createInProgressEventForCreate(model, callbackContext);
         } catch (Ec2Exception e) {
-            return createFailedEvent(model, e);
+            final CallbackContext nextContext = CallbackContext.stabilizingFrom(callbackContext)
+                    .createStarted(true)
+                    .throttledAttempts(callbackContext == null ? 0 : callbackContext.getThrottledAttempts())
+                    .build();
+            return createFailedOrRescheduledEvent(model, nextContext, e);
         }
 
         return createSuccessEvent(resultModel);
@@ -97,8 +123,8 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         }
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForCreate(ResourceModel model) {
-        return createInProgressEvent(model, CallbackContext.builder().createStarted(true).build());
+    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForCreate(ResourceModel model, CallbackContext callbackContext) {
+        return createInProgressEvent(model, CallbackContext.stabilizingFrom(callbackContext).createStarted(true).build());
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForCreate(ResourceModel model, int pollingDelaySeconds) {
@@ -9,37 +9,73 @@ import software.amazon.awssdk.services.ec2.model.Ec2Exception;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.*;
 
-import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createFailedEvent;
+import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createFailedOrRescheduledEvent;
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createInProgressEvent;
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createSuccessEvent;
 
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
+    private final InvocationPoller poller;
+
+    public DeleteHandler() {
+        this(InvocationPoller.defaultPoller());
+    }
+
+    DeleteHandler(final InvocationPoller poller) {
+        this.poller = poller;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
         final Ec2Client client = ClientBuilder.getClient(logger);
 
+        final ReadHandler readHandler = new ReadHandler();
         if (callbackContext == null || !callbackContext.isDeleteStarted()) {
             try {
+                // An association that is already gone, disassociated included, throws CfnNotFoundException here instead of being deleted again
+                readHandler.handleRequest(proxy, request, null, logger);
                 deleteLocalGatewayRouteTableVifGroupAssociation(model.getLocalGatewayRouteTableVirtualInterfaceGroupAssociationId(), proxy, client);
             } catch (Ec2Exception e) {
-                return createFailedEvent(model, e);
+                // Deleting again is safe, so a throttled delete is simply retried
+                final CallbackContext nextContext = CallbackContext.builder()
+                        .throttledAttempts(callbackContext == null ? 0 : callbackContext.getThrottledAttempts())
+                        .build();
+                return createFailedOrRescheduledEvent(model, nextContext, e);
+            }
+            // The delete has been made, so a read that might not finish in time is left to the next invocation
+            if (!InvocationDeadline.of(logger).allowsAnotherCall()) {
+                return createInProgressEventForDelete(model, callbackContext);
             }
         }
-        final ReadHandler readHandler = new ReadHandler();
         try {
-            final ResourceModel readModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
-            return createInProgressEventForDelete(readModel);
+            // Polling ends with CfnNotFoundException once the association is disassociated or EC2 no longer reports it
+            ResourceModel readModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            for (int polls = 0; poller.awaitNextPoll(polls, logger); polls++) {
+                readModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            }
+            return createInProgressEventForDelete(readModel, callbackContext);
         } catch (CfnNotFoundException expected) {
             return createSuccessEvent(null);
         } catch (Ec2Exception e) {
-            return createFailedEvent(model, e);
+            final CallbackContext nextContext = CallbackContext.stabilizingFrom(callbackContext)
+                    .deleteStarted(true)
+                    .throttledAttempts(callbackContext == null ? 0 : callbackContext.getThrottledAttempts())
+                    .build();
+            return createFailedOrRescheduledEvent(model, nextContext, e);
         }
     }
 
@@ -63,7 +99,7 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
         }
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForDelete(ResourceModel model) {
-        return createInProgressEvent(model, CallbackContext.builder().deleteStarted(true).build());
+    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEventForDelete(ResourceModel model, CallbackContext callbackContext) {
+        return createInProgressEvent(model, CallbackContext.stabilizingFrom(callbackContext).deleteStarted(true).build());
     }
 }
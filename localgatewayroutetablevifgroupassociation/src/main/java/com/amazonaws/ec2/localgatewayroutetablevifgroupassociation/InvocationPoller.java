@@ -0,0 +1,48 @@
+package com.amazonaws.ec2.localgatewayroutetablevifgroupassociation;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+/*
+ * Re-reads a transitioning resource a few times within one invocation. Handing control back to CloudFormation costs a
+ * round trip of several seconds, while many transitions finish within a second or two of the request.
+ */
+class InvocationPoller {
+    static final int DEFAULT_MAX_POLLS = 4;
+    static final long DEFAULT_POLL_INTERVAL_MILLIS = 500;
+
+    // Polling stops early enough to leave the invocation time for one more read and its response
+    static final long MIN_TIME_LEFT_MILLIS = 20_000;
+
+    static final InvocationPoller DISABLED = new InvocationPoller(0, 0);
+
+    private final int maxPolls;
+    private final long pollIntervalMillis;
+
+    InvocationPoller(final int maxPolls, final long pollIntervalMillis) {
+        this.maxPolls = maxPolls;
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    static InvocationPoller defaultPoller() {
+        return new InvocationPoller(DEFAULT_MAX_POLLS, DEFAULT_POLL_INTERVAL_MILLIS);
+    }
+
+    // Waits before the next poll. Returns false, without waiting, when the resource should be left to a later
+    // invocation instead
+    boolean awaitNextPoll(final int pollsDone, final Logger logger) {
+        if (pollsDone >= maxPolls) {
+            return false;
+        }
+        final long timeLeft = InvocationDeadline.of(logger).remainingMillis();
+        if (timeLeft - pollIntervalMillis < MIN_TIME_LEFT_MILLIS) {
+            return false;
+        }
+        try {
+            Thread.sleep(pollIntervalMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
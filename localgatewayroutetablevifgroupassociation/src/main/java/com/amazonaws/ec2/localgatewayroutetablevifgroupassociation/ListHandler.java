@@ -1,50 +1,89 @@
 package com.amazonaws.ec2.localgatewayroutetablevifgroupassociation;
 
-import com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.CallbackContext;
-import com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.ClientBuilder;
-import com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.Translator;
 import software.amazon.awssdk.services.ec2.Ec2Client;
 import software.amazon.awssdk.services.ec2.model.*;
 import software.amazon.cloudformation.proxy.*;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createSuccessEventForMultipleModels;
-import static java.util.stream.Collectors.toList;
 
 public class ListHandler extends BaseHandler<CallbackContext> {
 
+    // Each List call stops once it has this many associations, or has spent this long listing them, and hands back a
+    // token for the rest
+    static final int DEFAULT_MODELS_PER_LIST = 100;
+    static final Duration DEFAULT_LIST_TIME_BUDGET = Duration.ofSeconds(20);
+
+    // The range EC2 accepts for MaxResults
+    static final int MIN_PAGE_SIZE = 5;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final int modelsPerList;
+    private final Duration listTimeBudget;
+    private final Clock clock;
+
+    public ListHandler() {
+        this(DEFAULT_MODELS_PER_LIST, DEFAULT_LIST_TIME_BUDGET, Clock.systemUTC());
+    }
+
+    ListHandler(final int modelsPerList, final Duration listTimeBudget, final Clock clock) {
+        this.modelsPerList = modelsPerList;
+        this.listTimeBudget = listTimeBudget;
+        this.clock = clock;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
-
-        final List<ResourceModel> models = describeAllRouteTableVirtualInterfaceGroupAssociations(proxy, ClientBuilder.getClient(logger));
-
-        return createSuccessEventForMultipleModels(models);
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
     }
 
-    private List<ResourceModel> describeAllRouteTableVirtualInterfaceGroupAssociations(
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
             final AmazonWebServicesClientProxy proxy,
-            final Ec2Client client) {
-        List<LocalGatewayRouteTableVirtualInterfaceGroupAssociation> vifGroupAssociations = new ArrayList<>();
-        String nextToken = null;
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
+        final long stopAt = clock.millis() + listTimeBudget.toMillis();
+        final Ec2Client client = ClientBuilder.getClient(logger);
+        final List<ResourceModel> models = new ArrayList<>();
+        String nextToken = request.getNextToken();
+
+        // Each page is translated as soon as it arrives and only asks for what is still missing, so no more than one
+        // page of SDK objects is held at a time
         do {
-            final DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest request = DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest
-                    .builder()
-                    .nextToken(nextToken)
-                    .build();
-            final DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse response = proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTableVirtualInterfaceGroupAssociations);
+            final int pageSize = Math.max(MIN_PAGE_SIZE, Math.min(MAX_PAGE_SIZE, modelsPerList - models.size()));
+            final DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse response =
+                    describeRouteTableVirtualInterfaceGroupAssociations(nextToken, pageSize, proxy, client);
+            for (final LocalGatewayRouteTableVirtualInterfaceGroupAssociation association : response.localGatewayRouteTableVirtualInterfaceGroupAssociations()) {
+                // Read reports a disassociated association as not found, so listing leaves it out as well
+                if (!ReadHandler.DISASSOCIATED_STATE.equals(association.state())) {
+                    models.add(Translator.createModelFromVifGroupAssociation(association));
+                }
+            }
             nextToken = response.nextToken();
-            vifGroupAssociations.addAll(response.localGatewayRouteTableVirtualInterfaceGroupAssociations());
-        } while (nextToken != null);
-        return vifGroupAssociations
-                .stream()
-                .map(Translator::createModelFromVifGroupAssociation)
-                .collect(toList());
+        } while (nextToken != null && models.size() < modelsPerList && clock.millis() < stopAt);
+
+        return createSuccessEventForMultipleModels(models, nextToken);
+    }
+
+    private DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse describeRouteTableVirtualInterfaceGroupAssociations(
+            final String nextToken,
+            final int pageSize,
+            final AmazonWebServicesClientProxy proxy,
+            final Ec2Client client) {
+        final DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest request = DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest
+                .builder()
+                .maxResults(pageSize)
+                .nextToken(nextToken)
+                .build();
+        return proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTableVirtualInterfaceGroupAssociations);
     }
 }
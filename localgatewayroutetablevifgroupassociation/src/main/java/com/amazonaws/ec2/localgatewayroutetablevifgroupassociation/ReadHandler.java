@@ -15,22 +15,35 @@ import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.Transl
 
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
+    // EC2 goes on describing an association in this state for a while after it is gone, so it counts as not found
+    static final String DISASSOCIATED_STATE = "disassociated";
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
 
-        return createSuccessEvent(describeRouteTableVifGroupAssociation(model.getLocalGatewayRouteTableVirtualInterfaceGroupAssociationId(), proxy, ClientBuilder.getClient(logger)));
+        return createSuccessEvent(describeRouteTableVifGroupAssociation(model.getLocalGatewayRouteTableVirtualInterfaceGroupAssociationId(), request, proxy, ClientBuilder.getClient(logger), logger));
     }
 
     private ResourceModel describeRouteTableVifGroupAssociation(
             String localGatewayRouteTableVirtualInterfaceGroupAssociationId,
+            ResourceHandlerRequest<ResourceModel> handlerRequest,
             AmazonWebServicesClientProxy proxy,
-            Ec2Client client) {
+            Ec2Client client,
+            Logger logger) {
 
         String nextToken = null;
         LocalGatewayRouteTableVirtualInterfaceGroupAssociation vifGroupAssociation = null;
@@ -40,7 +53,13 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                     .localGatewayRouteTableVirtualInterfaceGroupAssociationIds(localGatewayRouteTableVirtualInterfaceGroupAssociationId)
                     .nextToken(nextToken)
                     .build();
-            final DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse response = proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTableVirtualInterfaceGroupAssociations);
+            final DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse response = SingleFlight.shared().call(
+                    proxy,
+                    handlerRequest.getAwsAccountId(),
+                    handlerRequest.getRegion(),
+                    request,
+                    () -> proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTableVirtualInterfaceGroupAssociations),
+                    logger);
             if (response.localGatewayRouteTableVirtualInterfaceGroupAssociations().size() > 1) {
                 throw new CfnGeneralServiceException("Should be 1 route table virtual interface group association when reading, but was " + response.localGatewayRouteTableVirtualInterfaceGroupAssociations());
             }
@@ -49,7 +68,7 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             }
             nextToken = response.nextToken();
         } while (vifGroupAssociation == null && nextToken != null);
-        if (vifGroupAssociation == null) {
+        if (vifGroupAssociation == null || DISASSOCIATED_STATE.equals(vifGroupAssociation.state())) {
             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, localGatewayRouteTableVirtualInterfaceGroupAssociationId);
         }
         return createModelFromVifGroupAssociation(vifGroupAssociation);
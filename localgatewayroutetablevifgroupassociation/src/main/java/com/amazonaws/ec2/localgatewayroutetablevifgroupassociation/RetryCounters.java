@@ -0,0 +1,34 @@
+package com.amazonaws.ec2.localgatewayroutetablevifgroupassociation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Retries and throttles seen by the shared EC2 client since the container started, by EC2 operation name.
+ */
+final class RetryCounters {
+    private static final Map<String, LongAdder> retries = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> throttles = new ConcurrentHashMap<>();
+
+    private RetryCounters() {
+    }
+
+    static void recordRetry(final String operation) {
+        retries.computeIfAbsent(String.valueOf(operation), key -> new LongAdder()).increment();
+    }
+
+    static void recordThrottle(final String operation) {
+        throttles.computeIfAbsent(String.valueOf(operation), key -> new LongAdder()).increment();
+    }
+
+    static long getRetries(final String operation) {
+        final LongAdder count = retries.get(operation);
+        return count == null ? 0 : count.sum();
+    }
+
+    static long getThrottles(final String operation) {
+        final LongAdder count = throttles.get(operation);
+        return count == null ? 0 : count.sum();
+    }
+}
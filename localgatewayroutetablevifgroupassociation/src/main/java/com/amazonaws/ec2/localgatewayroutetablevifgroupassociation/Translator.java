@@ -1,9 +1,9 @@
 package com.amazonaws.ec2.localgatewayroutetablevifgroupassociation;
 
+import software.amazon.awssdk.services.ec2.model.Ec2Exception;
 import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteTableVirtualInterfaceGroupAssociation;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 
-import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -20,7 +20,7 @@ class Translator {
                 .localGatewayVirtualInterfaceGroupId(vifGroupAssociation.localGatewayVirtualInterfaceGroupId())
                 .ownerId(vifGroupAssociation.ownerId())
                 .state(vifGroupAssociation.state())
-                .tags(TagHelper.createCfnTagsFromSdkTags(new HashSet<>(vifGroupAssociation.tags())))
+                .tags(TagHelper.createCfnTagsFromSdkTags(vifGroupAssociation.tags()))
                 .build();
     }
 
@@ -36,8 +36,24 @@ class Translator {
                 return HandlerErrorCode.NotFound;
             case "InvalidLocalGatewayRouteTableVirtualInterfaceGroupAssociationID.NotFound":
                 return HandlerErrorCode.NotFound;
+            case "RequestLimitExceeded":
+            case "Throttling":
+                return HandlerErrorCode.Throttling;
+            case "InternalError":
+            case "ServiceUnavailable":
+            case "Unavailable":
+                return HandlerErrorCode.ServiceInternalError;
             default:
                 return HandlerErrorCode.GeneralServiceException;
         }
     }
+
+    // Throttling and server side failures are worth trying again later, the request itself was fine
+    static boolean isTransientEc2Error(final Ec2Exception e) {
+        final HandlerErrorCode errorCode = getHandlerErrorForEc2Error(e.awsErrorDetails().errorCode());
+        return e.isThrottlingException()
+                || e.statusCode() >= 500
+                || errorCode == HandlerErrorCode.Throttling
+                || errorCode == HandlerErrorCode.ServiceInternalError;
+    }
 }
@@ -13,6 +13,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createFailedEvent;
+import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createFailedOrRescheduledEvent;
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createInProgressEvent;
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createNotUpdatableEvent;
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.createSuccessEvent;
@@ -25,6 +26,14 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
         final Ec2Client client = ClientBuilder.getClient(logger);
         final ResourceModel model = request.getDesiredResourceState();
 
@@ -72,26 +81,36 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             }
 
             // To make this update minimally intrusive we only change tags that are not staying the same between updates
-            final Set<Tag> tagsToCreate = desiredTags
-                    .stream()
-                    .filter(tag -> !currentTags.contains(tag))
-                    .collect(Collectors.toSet());
-            final Set<Tag> tagsToDelete = currentTags
-                    .stream()
-                    .filter(tag -> !desiredTags.contains(tag))
-                    .collect(Collectors.toSet());
+            final TagHelper.TagDiff tagDiff = TagHelper.diffTags(currentTags, desiredTags);
+            if (tagDiff.getSavedCalls() > 0) {
+                logger.log(String.format("%d changed tag values need no DeleteTags call", tagDiff.getChangedValues()));
+            }
 
             final CallbackContext nextContext = CallbackContext
                     .builder()
                     .updateStarted(true)
-                    .tagsToCreate(tagsToCreate)
-                    .tagsToDelete(tagsToDelete)
+                    .tagsToCreate(tagDiff.getTagsToCreate())
+                    .tagsToDelete(tagDiff.getTagsToDelete())
                     .build();
 
-            return createInProgressEvent(model, nextContext, 0);
+            if (!InvocationDeadline.of(logger).allowsAnotherCall()) {
+                // Too little time is left to tag in this invocation, so the next one makes the tag changes
+                return createInProgressEvent(model, nextContext, 0);
+            }
+            return updateTags(model, nextContext, proxy, client, logger);
         }
 
-        // Create new tags before deleting old ones
+        return updateTags(model, callbackContext, proxy, client, logger);
+    }
+
+    // Creates the new tags recorded in context before deleting the old ones
+    private ProgressEvent<ResourceModel, CallbackContext> updateTags(
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final AmazonWebServicesClientProxy proxy,
+            final Ec2Client client,
+            final Logger logger) {
+        boolean tagsCreated = false;
         try {
             if (callbackContext.getTagsToCreate() != null && !callbackContext.getTagsToCreate().isEmpty()) {
                 final CreateTagsRequest createTagsRequest = CreateTagsRequest
@@ -100,8 +119,18 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                         .resources(model.getLocalGatewayRouteTableVirtualInterfaceGroupAssociationId())
                         .build();
                 proxy.injectCredentialsAndInvokeV2(createTagsRequest, client::createTags);
+                tagsCreated = true;
             }
             if (callbackContext.getTagsToDelete() != null && !callbackContext.getTagsToDelete().isEmpty()) {
+                if (tagsCreated && !InvocationDeadline.of(logger).allowsAnotherCall()) {
+                    // The new tags are on, so only deleting the old ones is left for the next invocation
+                    final CallbackContext nextContext = CallbackContext
+                            .builder()
+                            .updateStarted(true)
+                            .tagsToDelete(callbackContext.getTagsToDelete())
+                            .build();
+                    return createInProgressEvent(model, nextContext, 0);
+                }
                 final DeleteTagsRequest deleteTagsRequest = DeleteTagsRequest
                         .builder()
                         .tags(callbackContext.getTagsToDelete().stream().map(TagHelper::createSdkTagFromCfnTag).collect(Collectors.toSet()))
@@ -110,7 +139,8 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 proxy.injectCredentialsAndInvokeV2(deleteTagsRequest, client::deleteTags);
             }
         } catch (Ec2Exception e) {
-            return createFailedEvent(model, e);
+            // CreateTags and DeleteTags can be repeated, so the tag update is retried from the same context
+            return createFailedOrRescheduledEvent(model, callbackContext, e);
         }
 
         return createSuccessEvent(model);
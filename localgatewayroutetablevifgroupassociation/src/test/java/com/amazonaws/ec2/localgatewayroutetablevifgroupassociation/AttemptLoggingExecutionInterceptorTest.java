@@ -5,16 +5,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.interceptor.Context;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest;
 import software.amazon.cloudformation.proxy.Logger;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class AttemptLoggingExecutionInterceptorTest {
@@ -38,8 +45,8 @@ public class AttemptLoggingExecutionInterceptorTest {
                 .httpResponse(response)
                 .request(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.builder().build())
                 .build();
-        AttemptLoggingExecutionInterceptor interceptor = new AttemptLoggingExecutionInterceptor(logger);
-        interceptor.afterTransmission(context, new ExecutionAttributes());
+        AttemptLoggingExecutionInterceptor interceptor = new AttemptLoggingExecutionInterceptor();
+        interceptor.afterTransmission(context, new ExecutionAttributes().putAttribute(AttemptLoggingExecutionInterceptor.LOGGER, logger));
 
         verifyZeroInteractions(logger);
     }
@@ -56,9 +63,141 @@ public class AttemptLoggingExecutionInterceptorTest {
                 .httpResponse(response)
                 .request(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.builder().build())
                 .build();
-        AttemptLoggingExecutionInterceptor interceptor = new AttemptLoggingExecutionInterceptor(logger);
-        interceptor.afterTransmission(context, new ExecutionAttributes());
+        AttemptLoggingExecutionInterceptor interceptor = new AttemptLoggingExecutionInterceptor();
+        interceptor.afterTransmission(context, new ExecutionAttributes().putAttribute(AttemptLoggingExecutionInterceptor.LOGGER, logger));
 
         verify(logger).log("Error when attempting to call EC2. Status: 500, Transmission failed");
     }
+
+    @Test
+    public void testAfterTransmission_NoLogger_NoError() {
+        SdkHttpResponse response = SdkHttpResponse
+                .builder()
+                .statusCode(500)
+                .build();
+        Context.AfterTransmission context = InterceptorContext
+                .builder()
+                .httpResponse(response)
+                .request(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.builder().build())
+                .build();
+        AttemptLoggingExecutionInterceptor interceptor = new AttemptLoggingExecutionInterceptor();
+        interceptor.afterTransmission(context, new ExecutionAttributes());
+
+        verifyZeroInteractions(logger);
+    }
+
+    @Test
+    public void testBeforeExecution_CarriesRequestLogger() {
+        Context.BeforeExecution context = InterceptorContext
+                .builder()
+                .request(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.builder().build())
+                .build();
+        ExecutionAttributes executionAttributes = new ExecutionAttributes();
+        ClientBuilder.getClient(logger);
+        new AttemptLoggingExecutionInterceptor().beforeExecution(context, executionAttributes);
+
+        assertThat(executionAttributes.getAttribute(AttemptLoggingExecutionInterceptor.LOGGER)).isSameAs(logger);
+    }
+
+    @Test
+    public void testBeforeExecution_CarriesInvocationDeadline() {
+        Context.BeforeExecution context = InterceptorContext
+                .builder()
+                .request(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.builder().build())
+                .build();
+        long start = System.currentTimeMillis();
+        ClientBuilder.getClient(logger);
+        ExecutionAttributes firstCall = new ExecutionAttributes();
+        new AttemptLoggingExecutionInterceptor().beforeExecution(context, firstCall);
+        ClientBuilder.getClient(logger);
+        ExecutionAttributes secondCall = new ExecutionAttributes();
+        new AttemptLoggingExecutionInterceptor().beforeExecution(context, secondCall);
+
+        assertThat(firstCall.getAttribute(AttemptLoggingExecutionInterceptor.INVOCATION_DEADLINE))
+                .isBetween(start + ClientBuilder.HANDLER_TIMEOUT.toMillis(), System.currentTimeMillis() + ClientBuilder.HANDLER_TIMEOUT.toMillis());
+        // Later calls in the same invocation keep the deadline of the first one
+        assertThat(secondCall.getAttribute(AttemptLoggingExecutionInterceptor.INVOCATION_DEADLINE))
+                .isEqualTo(firstCall.getAttribute(AttemptLoggingExecutionInterceptor.INVOCATION_DEADLINE));
+    }
+
+    @Test
+    public void testExecution_Success_PublishedWithInvocation() {
+        Context.BeforeExecution context = InterceptorContext
+            .builder()
+            .request(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.builder().build())
+            .httpResponse(SdkHttpResponse.builder().statusCode(200).build())
+            .build();
+        ExecutionAttributes executionAttributes = new ExecutionAttributes()
+            .putAttribute(SdkExecutionAttribute.OPERATION_NAME, "DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociations");
+        AttemptLoggingExecutionInterceptor interceptor = new AttemptLoggingExecutionInterceptor();
+
+        InvocationMetrics.publishAfter(logger, () -> {
+            ClientBuilder.getClient(logger);
+            interceptor.beforeExecution(context, executionAttributes);
+            interceptor.beforeTransmission((Context.BeforeTransmission) context, executionAttributes);
+            interceptor.afterTransmission((Context.AfterTransmission) context, executionAttributes);
+            interceptor.afterExecution((Context.AfterExecution) context, executionAttributes);
+
+            // A successful call is only written out with the rest of its invocation
+            verifyZeroInteractions(logger);
+            return null;
+        });
+
+        verify(logger).log(argThat(line -> line.startsWith("{\"_aws\"")
+            && line.contains("\"Calls\":1")
+            && line.contains("\"Attempts\":1")
+            && line.contains("\"Throttles\":0")
+            && line.contains("\"FailedCalls\":0")
+            && line.contains("\"Operations\":{\"DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociations\":1}")));
+    }
+
+    @Test
+    public void testExecution_Failure_PublishedOnceWithInvocation() {
+        InterceptorContext context = InterceptorContext
+            .builder()
+            .request(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.builder().build())
+            .httpResponse(SdkHttpResponse.builder().statusCode(503).build())
+            .build();
+        ExecutionAttributes executionAttributes = new ExecutionAttributes()
+            .putAttribute(SdkExecutionAttribute.OPERATION_NAME, "DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociations");
+        AttemptLoggingExecutionInterceptor interceptor = new AttemptLoggingExecutionInterceptor();
+        Context.FailedExecution failedExecution = mock(Context.FailedExecution.class);
+        when(failedExecution.exception()).thenReturn(SdkClientException.create("Unavailable"));
+
+        InvocationMetrics.publishAfter(logger, () -> {
+            ClientBuilder.getClient(logger);
+            interceptor.beforeExecution(context, executionAttributes);
+            interceptor.beforeTransmission(context, executionAttributes);
+            interceptor.afterTransmission(context, executionAttributes);
+            interceptor.onExecutionFailure(failedExecution, executionAttributes);
+
+            // A failed call is only written out with the rest of its invocation, so it is counted once
+            verify(logger, never()).log(argThat(line -> line.startsWith("{\"_aws\"")));
+            return null;
+        });
+
+        verify(logger, times(1)).log(argThat(line -> line.startsWith("{\"_aws\"")));
+        verify(logger).log(argThat(line -> line.startsWith("{\"_aws\"")
+            && line.contains("\"Calls\":1")
+            && line.contains("\"FailedCalls\":1")
+            && line.contains("\"Operations\":{\"DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociations\":1}")));
+    }
+
+    @Test
+    public void testExecution_NoLogger_NoMetrics() {
+        Context.BeforeExecution context = InterceptorContext
+                .builder()
+                .request(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.builder().build())
+                .build();
+        ExecutionAttributes executionAttributes = new ExecutionAttributes();
+        ClientBuilder.getClient(null);
+        new AttemptLoggingExecutionInterceptor().beforeExecution(context, executionAttributes);
+
+        assertThat(executionAttributes.getAttribute(AttemptLoggingExecutionInterceptor.CALL_METRICS)).isNull();
+    }
+
+    @Test
+    public void testGetClient_ReusesClientAcrossRequests() {
+        assertThat(ClientBuilder.getClient(logger)).isSameAs(ClientBuilder.getClient(mock(Logger.class)));
+    }
 }
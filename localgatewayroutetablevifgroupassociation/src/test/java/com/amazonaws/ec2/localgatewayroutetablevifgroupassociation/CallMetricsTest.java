@@ -0,0 +1,63 @@
+package com.amazonaws.ec2.localgatewayroutetablevifgroupassociation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CallMetricsTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    public void testThrottledThenSucceeded() {
+        CallMetrics metrics = new CallMetrics("SearchLocalGatewayRoutes", 0);
+        metrics.attemptStarted(10 * MILLIS);
+        metrics.attemptFinished(40 * MILLIS);
+        metrics.failedAttemptClassified(true);
+        metrics.attemptStarted(240 * MILLIS);
+        metrics.attemptFinished(260 * MILLIS);
+
+        assertThat(metrics.getOperation()).isEqualTo("SearchLocalGatewayRoutes");
+        assertThat(metrics.getAttemptLatenciesMillis()).containsExactly(30L, 20L);
+        assertThat(metrics.getCallLatencyMillis(270 * MILLIS)).isEqualTo(270);
+        assertThat(metrics.getAttempts()).isEqualTo(2);
+        assertThat(metrics.getThrottles()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCallFailed_LastAttemptThrottled_Counted() {
+        CallMetrics metrics = new CallMetrics("DescribeLocalGatewayRouteTables", 0);
+        metrics.attemptStarted(0);
+        metrics.attemptFinished(10 * MILLIS);
+        metrics.failedAttemptClassified(true);
+        metrics.attemptStarted(100 * MILLIS);
+        metrics.attemptFinished(110 * MILLIS);
+        metrics.callFailed(110 * MILLIS, true);
+
+        assertThat(metrics.getAttempts()).isEqualTo(2);
+        assertThat(metrics.getThrottles()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCallFailed_AttemptAlreadyClassified_NotCountedTwice() {
+        CallMetrics metrics = new CallMetrics("DescribeLocalGatewayRouteTables", 0);
+        metrics.attemptStarted(0);
+        metrics.attemptFinished(10 * MILLIS);
+        metrics.failedAttemptClassified(true);
+        metrics.callFailed(10 * MILLIS, true);
+
+        assertThat(metrics.getAttempts()).isEqualTo(1);
+        assertThat(metrics.getThrottles()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAttemptStarted_PreviousAttemptWithoutResponse_Recorded() {
+        CallMetrics metrics = new CallMetrics("CreateLocalGatewayRoute", 0);
+        metrics.attemptStarted(0);
+        metrics.attemptStarted(50 * MILLIS);
+        metrics.attemptFinished(60 * MILLIS);
+
+        assertThat(metrics.getAttempts()).isEqualTo(2);
+        assertThat(metrics.getAttemptLatenciesMillis()).containsExactly(50L, 10L);
+    }
+}
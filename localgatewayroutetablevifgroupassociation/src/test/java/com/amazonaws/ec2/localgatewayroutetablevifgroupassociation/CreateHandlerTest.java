@@ -26,7 +26,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.CallbackContext.POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.EventGenerator.FIRST_POLLING_DELAY_SECONDS;
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.Translator.createModelFromVifGroupAssociation;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -84,7 +84,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.class), any()))
                 .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -119,7 +119,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.class), any()))
                 .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         // Test that both types of tags get added
         ResourceModel modelWithTags = ResourceModel.builder()
@@ -176,7 +176,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteTableVirtualInterfaceGroupAssociationRequest.class), any()))
                 .thenThrow(unexpectedException);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -201,7 +201,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.class), any()))
                 .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final Set<Tag> tagSet = new HashSet<>();
         tagSet.add(Tag.builder().key("Name").value("MyAssociation").build());
@@ -241,7 +241,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.class), any()))
                 .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, inProgressContext, logger);
@@ -273,7 +273,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.class), any()))
                 .thenThrow(unexpectedException);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, inProgressContext, logger);
@@ -301,15 +301,16 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.class), any()))
                 .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, requestAfterRouteTableCreated, inProgressContext, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().isCreateStarted()).isTrue();
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromVifGroupAssociation(TEST_ASSOCIATION));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -326,15 +327,16 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.class), any()))
                 .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, requestAfterRouteTableCreated, inProgressContext, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().isCreateStarted()).isTrue();
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromVifGroupAssociation(TEST_ASSOCIATION_PENDING));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -349,7 +351,7 @@ public class CreateHandlerTest extends TestBase {
                 .localGatewayVirtualInterfaceGroupId(VIF_GROUP_ID)
                 .build();
         request.setDesiredResourceState(invalidModel);
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
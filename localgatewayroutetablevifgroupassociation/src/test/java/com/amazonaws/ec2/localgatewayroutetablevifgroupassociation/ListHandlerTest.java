@@ -3,8 +3,10 @@ package com.amazonaws.ec2.localgatewayroutetablevifgroupassociation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest;
 import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
@@ -12,12 +14,17 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.Translator.createModelFromVifGroupAssociation;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -77,4 +84,82 @@ public class ListHandlerTest extends TestBase {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
+
+    @Test
+    public void handleRequest_SkipsDisassociated() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        final DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse describeResponse = DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse
+                .builder()
+                .localGatewayRouteTableVirtualInterfaceGroupAssociations(TEST_ASSOCIATION.toBuilder().state("disassociated").build(), TEST_ASSOCIATION)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+                .thenReturn(describeResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new ListHandler().handleRequest(proxy, request, null, logger);
+
+        // Read reports a disassociated association as not found, so it is not listed either
+        assertThat(response.getResourceModels()).containsExactly(createModelFromVifGroupAssociation(TEST_ASSOCIATION));
+    }
+
+    @Test
+    public void handleRequest_StopsAtModelLimit() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .nextToken("previousToken")
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+                .thenReturn(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse.builder()
+                        .localGatewayRouteTableVirtualInterfaceGroupAssociations(TEST_ASSOCIATION_PENDING)
+                        .nextToken("token1")
+                        .build())
+                .thenReturn(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse.builder()
+                        .localGatewayRouteTableVirtualInterfaceGroupAssociations(TEST_ASSOCIATION)
+                        .nextToken("token2")
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new ListHandler(2, Duration.ofMinutes(1), Clock.systemUTC()).handleRequest(proxy, request, null, logger);
+
+        final ArgumentCaptor<DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest> describeRequests =
+                ArgumentCaptor.forClass(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.class);
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(describeRequests.capture(), any());
+        final List<DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest> sent = describeRequests.getAllValues();
+        assertThat(sent.get(0).nextToken()).isEqualTo("previousToken");
+        assertThat(sent.get(0).maxResults()).isEqualTo(ListHandler.MIN_PAGE_SIZE);
+        assertThat(sent.get(1).nextToken()).isEqualTo("token1");
+        assertThat(response.getResourceModels()).hasSize(2);
+        assertThat(response.getNextToken()).isEqualTo("token2");
+    }
+
+    @Test
+    public void handleRequest_StopsAtTimeBudget() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+        final Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L, 30_000L);
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+                .thenReturn(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse.builder()
+                        .localGatewayRouteTableVirtualInterfaceGroupAssociations(TEST_ASSOCIATION)
+                        .nextToken("token")
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new ListHandler(ListHandler.DEFAULT_MODELS_PER_LIST, Duration.ofSeconds(20), clock).handleRequest(proxy, request, null, logger);
+
+        final ArgumentCaptor<DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest> describeRequest =
+                ArgumentCaptor.forClass(DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsRequest.class);
+        verify(proxy).injectCredentialsAndInvokeV2(describeRequest.capture(), any());
+        assertThat(describeRequest.getValue().maxResults()).isEqualTo(ListHandler.DEFAULT_MODELS_PER_LIST);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).containsExactly(createModelFromVifGroupAssociation(TEST_ASSOCIATION));
+        assertThat(response.getNextToken()).isEqualTo("token");
+    }
 }
@@ -95,6 +95,22 @@ public class ReadHandlerTest extends TestBase {
         assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void handleRequest_Disassociated_Fails() {
+        final ReadHandler handler = new ReadHandler();
+
+        // EC2 goes on describing an association as disassociated after a successful delete
+        final DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse response = DescribeLocalGatewayRouteTableVirtualInterfaceGroupAssociationsResponse
+                .builder()
+                .localGatewayRouteTableVirtualInterfaceGroupAssociations(TEST_ASSOCIATION.toBuilder().state("disassociated").build())
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+                .thenReturn(response);
+
+        assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
     @Test
     public void handleRequest_MultipleAssociationss_Fails() {
         final ReadHandler handler = new ReadHandler();
@@ -6,9 +6,11 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class TagHelperTest {
@@ -37,4 +39,62 @@ public class TagHelperTest {
         Set<software.amazon.awssdk.services.ec2.model.Tag> sdkTags = Collections.singleton(software.amazon.awssdk.services.ec2.model.Tag.builder().key("resourceTagKey").value("resourceTagValue").build());
         assertEquals(TagHelper.createSdkTagsFromCfnTags(TagHelper.createCfnTagsFromSdkTags(sdkTags)), sdkTags);
     }
+
+    @Test
+    public void testCreateCfnTagsFromSdkTagList() {
+        final List<software.amazon.awssdk.services.ec2.model.Tag> sdkTags = Arrays.asList(
+                software.amazon.awssdk.services.ec2.model.Tag.builder().key("Name").value("Test").build(),
+                software.amazon.awssdk.services.ec2.model.Tag.builder().key("Stage").value("Prod").build());
+
+        assertThat(TagHelper.createCfnTagsFromSdkTags(sdkTags)).containsExactlyInAnyOrder(tag("Name", "Test"), tag("Stage", "Prod"));
+        assertThat(TagHelper.createCfnTagsFromSdkTags(Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    public void testDiffTags() {
+        final Set<Tag> currentTags = new HashSet<>(Arrays.asList(
+                tag("Kept", "Same"),
+                tag("Changed", "Old"),
+                tag("Removed", "Gone")));
+        final Set<Tag> desiredTags = new HashSet<>(Arrays.asList(
+                tag("Kept", "Same"),
+                tag("Changed", "New"),
+                tag("Added", "Fresh")));
+
+        final TagHelper.TagDiff diff = TagHelper.diffTags(currentTags, desiredTags);
+
+        assertThat(diff.getTagsToCreate()).containsExactlyInAnyOrder(tag("Changed", "New"), tag("Added", "Fresh"));
+        assertThat(diff.getTagsToDelete()).containsExactly(tag("Removed", "Gone"));
+        assertThat(diff.getChangedValues()).isEqualTo(1);
+        // DeleteTags is still needed for the removed key
+        assertThat(diff.getSavedCalls()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDiffTags_OnlyValuesChanged() {
+        final Set<Tag> currentTags = new HashSet<>(Arrays.asList(tag("Stage", "Prod"), tag("Owner", "TeamA")));
+        final Set<Tag> desiredTags = new HashSet<>(Arrays.asList(tag("Stage", "Test"), tag("Owner", "TeamA")));
+
+        final TagHelper.TagDiff diff = TagHelper.diffTags(currentTags, desiredTags);
+
+        assertThat(diff.getTagsToCreate()).containsExactly(tag("Stage", "Test"));
+        assertThat(diff.getTagsToDelete()).isEmpty();
+        assertThat(diff.getChangedValues()).isEqualTo(1);
+        assertThat(diff.getSavedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDiffTags_NoChanges() {
+        final Set<Tag> tags = Collections.singleton(tag("Stage", "Prod"));
+
+        final TagHelper.TagDiff diff = TagHelper.diffTags(tags, tags);
+
+        assertThat(diff.getTagsToCreate()).isEmpty();
+        assertThat(diff.getTagsToDelete()).isEmpty();
+        assertThat(diff.getSavedCalls()).isEqualTo(0);
+    }
+
+    private static Tag tag(final String key, final String value) {
+        return Tag.builder().key(key).value(value).build();
+    }
 }
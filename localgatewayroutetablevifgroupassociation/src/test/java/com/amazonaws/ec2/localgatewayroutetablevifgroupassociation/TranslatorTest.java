@@ -1,6 +1,8 @@
 package com.amazonaws.ec2.localgatewayroutetablevifgroupassociation;
 
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ec2.model.Ec2Exception;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 
 import java.util.HashSet;
@@ -8,6 +10,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.Translator.getHandlerErrorForEc2Error;
+import static com.amazonaws.ec2.localgatewayroutetablevifgroupassociation.Translator.isTransientEc2Error;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -19,9 +22,27 @@ public class TranslatorTest extends TestBase {
         assertThat(getHandlerErrorForEc2Error("InvalidLocalGatewayRouteTableID.NotFound")).isEqualTo(HandlerErrorCode.NotFound);
         assertThat(getHandlerErrorForEc2Error("InvalidLocalGatewayVirtualInterfaceGroupID.NotFound")).isEqualTo(HandlerErrorCode.NotFound);
         assertThat(getHandlerErrorForEc2Error("InvalidLocalGatewayRouteTableVirtualInterfaceGroupAssociationID.NotFound")).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(getHandlerErrorForEc2Error("RequestLimitExceeded")).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(getHandlerErrorForEc2Error("InternalError")).isEqualTo(HandlerErrorCode.ServiceInternalError);
         assertThat(getHandlerErrorForEc2Error("AnythingElse")).isEqualTo(HandlerErrorCode.GeneralServiceException);
     }
 
+    @Test
+    public void testIsTransientEc2Error() {
+        assertThat(isTransientEc2Error(buildEc2Exception("RequestLimitExceeded", 503))).isTrue();
+        assertThat(isTransientEc2Error(buildEc2Exception("Throttling", 400))).isTrue();
+        assertThat(isTransientEc2Error(buildEc2Exception("SomethingBroke", 500))).isTrue();
+        assertThat(isTransientEc2Error(buildEc2Exception("UnauthorizedOperation", 403))).isFalse();
+        assertThat(isTransientEc2Error(buildEc2Exception("InvalidParameter", 400))).isFalse();
+    }
+
+    private static Ec2Exception buildEc2Exception(String errorCode, int statusCode) {
+        return (Ec2Exception) Ec2Exception.builder()
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).build())
+            .statusCode(statusCode)
+            .build();
+    }
+
     @Test
     public void testCreateModelFromVifGroupAssociation() {
         Set<Tag> expectedTags = TagHelper.createCfnTagsFromSdkTags(new HashSet<>(TEST_ASSOCIATION_WITH_TAGS.tags()));
@@ -1,7 +1,11 @@
 package com.amazonaws.ec2.localgatewayroutetablevpcassociation;
 
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.backoff.EqualJitterBackoffStrategy;
+import software.amazon.awssdk.core.retry.backoff.FullJitterBackoffStrategy;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.services.ec2.Ec2Client;
@@ -13,22 +17,45 @@ class ClientBuilder {
     private ClientBuilder() {
     }
 
-    private static Duration SOCKET_TIMEOUT = Duration.ofSeconds(55);
+    static final Duration SOCKET_TIMEOUT = Duration.ofSeconds(55);
+
+    // CloudFormation handler times out after 1 minute
+    static final Duration HANDLER_TIMEOUT = Duration.ofSeconds(60);
+
+    // Adaptive mode rate limits the whole container's calls with a token bucket once EC2 starts throttling, and
+    // throttled calls wait longer between attempts than other retryable errors
+    private static RetryPolicy retryPolicy = RetryPolicy.builder(RetryMode.ADAPTIVE)
+        .numRetries(5)
+        .backoffStrategy(FullJitterBackoffStrategy.builder()
+            .baseDelay(Duration.ofMillis(100))
+            .maxBackoffTime(ThrottlingAwareRetryCondition.MAX_BACKOFF)
+            .build())
+        .throttlingBackoffStrategy(EqualJitterBackoffStrategy.builder()
+            .baseDelay(Duration.ofMillis(500))
+            .maxBackoffTime(ThrottlingAwareRetryCondition.MAX_BACKOFF)
+            .build())
+        .retryCondition(new ThrottlingAwareRetryCondition(RetryCondition.defaultRetryCondition()))
+        .build();
 
     private static SdkHttpClient httpClient = ApacheHttpClient.builder()
         .socketTimeout(SOCKET_TIMEOUT)
         .build();
 
+    // Built once per container and reused by every invocation, including the nested reads done by other handlers
+    private static Ec2Client ec2Client = Ec2Client.builder()
+        .httpClient(httpClient)
+        .overrideConfiguration(ClientOverrideConfiguration.builder()
+            .addExecutionInterceptor(new AttemptLoggingExecutionInterceptor())
+            // CloudFormation handler times out after 1 minute. There are instances of these apis taking a long time
+            // These are only ceilings, each call is cut to the time left in its invocation by AttemptLoggingExecutionInterceptor
+            .apiCallAttemptTimeout(SOCKET_TIMEOUT)
+            .apiCallTimeout(InvocationDeadline.MAX_CALL_TIMEOUT)
+            .retryPolicy(retryPolicy)
+            .build())
+        .build();
+
     static Ec2Client getClient(Logger logger) {
-        return Ec2Client.builder()
-            .httpClient(httpClient)
-            .overrideConfiguration(ClientOverrideConfiguration.builder()
-                .addExecutionInterceptor(new AttemptLoggingExecutionInterceptor(logger))
-                // CloudFormation handler times out after 1 minute. There are instances of these apis taking a long time
-                .apiCallAttemptTimeout(SOCKET_TIMEOUT)
-                .apiCallTimeout(Duration.ofSeconds(59))
-                .retryPolicy(RetryPolicy.builder().numRetries(5).build())
-                .build())
-            .build();
+        AttemptLoggingExecutionInterceptor.setRequestLogger(logger);
+        return ec2Client;
     }
 }
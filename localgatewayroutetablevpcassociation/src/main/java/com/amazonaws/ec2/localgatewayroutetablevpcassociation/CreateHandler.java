@@ -10,18 +10,37 @@ import software.amazon.cloudformation.proxy.*;
 
 import java.util.Set;
 
-import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Constants.POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.EventGenerator.createFailedOrRescheduledEvent;
+import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.EventGenerator.getPollingDelaySeconds;
 import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Translator.getHandlerErrorForEc2Error;
 import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Translator.createModelFromAssociation;
 
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
+    private final InvocationPoller poller;
+
+    public CreateHandler() {
+        this(InvocationPoller.defaultPoller());
+    }
+
+    CreateHandler(final InvocationPoller poller) {
+        this.poller = poller;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
         ResourceModel model = request.getDesiredResourceState();
         final Ec2Client client = ClientBuilder.getClient(logger);
@@ -51,25 +70,27 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                     .build();
             }
             request.setDesiredResourceState(model);
-            return createInProgressEvent(model, 0);
+            return createInProgressEvent(model, CallbackContext.builder().createStarted(true).build(), 0);
         }
 
         final ReadHandler readHandler = new ReadHandler();
-        final ResourceModel resultModel;
+        ResourceModel resultModel;
         try {
             resultModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            for (int polls = 0; !"associated".equals(resultModel.getState()) && poller.awaitNextPoll(polls, logger); polls++) {
+                resultModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            }
             if (!"associated".equals(resultModel.getState())) {
-                return createInProgressEvent(resultModel);
+                return createInProgressEvent(resultModel, callbackContext);
             }
         } catch (CfnNotFoundException e) {
-            return createInProgressEvent(model);
+            return createInProgressEvent(model, callbackContext);
         } catch (Ec2Exception e) {
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(model)
-                .status(OperationStatus.FAILED)
-                .errorCode(getHandlerErrorForEc2Error(e.awsErrorDetails().errorCode()))
-                .message(e.getMessage())
+            final CallbackContext nextContext = CallbackContext.stabilizingFrom(callbackContext)
+                .createStarted(true)
+                .throttledAttempts(callbackContext == null ? 0 : callbackContext.getThrottledAttempts())
                 .build();
+            return createFailedOrRescheduledEvent(model, nextContext, e);
         }
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
             .resourceModel(resultModel)
@@ -103,14 +124,14 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         }
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model) {
-        return createInProgressEvent(model, POLLING_DELAY_SECONDS);
-    }
-
-    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model, int callbackDelay) {
-        CallbackContext context = CallbackContext.builder()
+    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model, CallbackContext callbackContext) {
+        CallbackContext context = CallbackContext.stabilizingFrom(callbackContext)
             .createStarted(true)
             .build();
+        return createInProgressEvent(model, context, getPollingDelaySeconds(context, System.currentTimeMillis()));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model, CallbackContext context, int callbackDelay) {
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
             .callbackContext(context)
             .callbackDelaySeconds(callbackDelay)
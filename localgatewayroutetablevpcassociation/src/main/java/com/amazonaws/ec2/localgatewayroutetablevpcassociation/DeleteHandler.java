@@ -6,48 +6,72 @@ import software.amazon.awssdk.services.ec2.model.Ec2Exception;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.*;
 
-import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Constants.POLLING_DELAY_SECONDS;
-import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Translator.getHandlerErrorForEc2Error;
+import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.EventGenerator.createFailedOrRescheduledEvent;
+import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.EventGenerator.getPollingDelaySeconds;
 
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
+    private final InvocationPoller poller;
+
+    public DeleteHandler() {
+        this(InvocationPoller.defaultPoller());
+    }
+
+    DeleteHandler(final InvocationPoller poller) {
+        this.poller = poller;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
         final Ec2Client client = ClientBuilder.getClient(logger);
 
+        final ReadHandler readHandler = new ReadHandler();
         if (callbackContext == null || !callbackContext.isDeleteStarted()) {
             try {
+                // An association that is already gone, disassociated included, throws CfnNotFoundException here instead of being deleted again
+                readHandler.handleRequest(proxy, request, null, logger);
                 deleteAssociation(model.getLocalGatewayRouteTableVpcAssociationId(), proxy, client);
             } catch (Ec2Exception e) {
-                return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(model)
-                    .status(OperationStatus.FAILED)
-                    .errorCode(getHandlerErrorForEc2Error(e.awsErrorDetails().errorCode()))
-                    .message(e.getMessage())
+                // Deleting again is safe, so a throttled delete is simply retried
+                final CallbackContext nextContext = CallbackContext.builder()
+                    .throttledAttempts(callbackContext == null ? 0 : callbackContext.getThrottledAttempts())
                     .build();
+                return createFailedOrRescheduledEvent(model, nextContext, e);
+            }
+            // The delete has been made, so a read that might not finish in time is left to the next invocation
+            if (!InvocationDeadline.of(logger).allowsAnotherCall()) {
+                return createInProgressEvent(model, callbackContext);
             }
         }
-        final ReadHandler readHandler = new ReadHandler();
         try {
-            final ResourceModel readModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
-            return createInProgressEvent(readModel);
+            // Polling ends with CfnNotFoundException once the association is disassociated or EC2 no longer reports it
+            ResourceModel readModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            for (int polls = 0; poller.awaitNextPoll(polls, logger); polls++) {
+                readModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
+            }
+            return createInProgressEvent(readModel, callbackContext);
         } catch (CfnNotFoundException expected) {
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .status(OperationStatus.SUCCESS)
-                .build();
+            return createSuccessEvent();
         } catch (Ec2Exception e) {
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(model)
-                .status(OperationStatus.FAILED)
-                .errorCode(getHandlerErrorForEc2Error(e.awsErrorDetails().errorCode()))
-                .message(e.getMessage())
+            final CallbackContext nextContext = CallbackContext.stabilizingFrom(callbackContext)
+                .deleteStarted(true)
+                .throttledAttempts(callbackContext == null ? 0 : callbackContext.getThrottledAttempts())
                 .build();
+            return createFailedOrRescheduledEvent(model, nextContext, e);
         }
     }
 
@@ -71,13 +95,19 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
         }
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model) {
-        CallbackContext context = CallbackContext.builder()
+    private ProgressEvent<ResourceModel, CallbackContext> createSuccessEvent() {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+            .status(OperationStatus.SUCCESS)
+            .build();
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model, CallbackContext callbackContext) {
+        CallbackContext context = CallbackContext.stabilizingFrom(callbackContext)
             .deleteStarted(true)
             .build();
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
             .callbackContext(context)
-            .callbackDelaySeconds(POLLING_DELAY_SECONDS)
+            .callbackDelaySeconds(getPollingDelaySeconds(context, System.currentTimeMillis()))
             .status(OperationStatus.IN_PROGRESS)
             .resourceModel(model)
             .build();
@@ -0,0 +1,163 @@
+package com.amazonaws.ec2.localgatewayroutetablevpcassociation;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/*
+ * The EC2 calls of one handler invocation, written out as a single CloudWatch Embedded Metric Format line once the
+ * handler returns. Every line written through the handler logger is a CloudWatch Logs call of its own, so successful
+ * calls are only added up here, and latencies are kept as histograms of values and their counts.
+ */
+final class InvocationMetrics {
+    // The most distinct values CloudWatch takes for one metric in an EMF line
+    static final int MAX_HISTOGRAM_VALUES = 100;
+
+    // Each invocation gets its own logger, which the handlers it runs, including the nested reads, all share
+    private static final Map<Logger, InvocationMetrics> invocations = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, Integer> callsByOperation = new TreeMap<>();
+    private final Histogram attemptLatencies = new Histogram();
+    private final Histogram callLatencies = new Histogram();
+    private final Histogram retryDelays = new Histogram();
+    private int calls;
+    private int attempts;
+    private int throttles;
+    private int failedCalls;
+    private int sharedCalls;
+    private int handlerDepth;
+
+    // Runs a handler and writes the metrics of its invocation once the outermost handler of the invocation is done
+    static <T> T publishAfter(final Logger logger, final Supplier<T> handler) {
+        if (logger == null) {
+            return handler.get();
+        }
+        final InvocationMetrics metrics = of(logger);
+        metrics.enter();
+        try {
+            return handler.get();
+        } finally {
+            if (metrics.exit()) {
+                invocations.remove(logger, metrics);
+                metrics.publish(logger, System.currentTimeMillis());
+            }
+        }
+    }
+
+    static InvocationMetrics of(final Logger logger) {
+        return invocations.computeIfAbsent(logger, key -> new InvocationMetrics());
+    }
+
+    synchronized void record(final CallMetrics call, final long nowNanos, final boolean failed) {
+        final long callLatencyMillis = call.getCallLatencyMillis(nowNanos);
+        long attemptsMillis = 0;
+        for (final long latency : call.getAttemptLatenciesMillis()) {
+            attemptLatencies.add(latency);
+            attemptsMillis += latency;
+        }
+        callLatencies.add(callLatencyMillis);
+        retryDelays.add(Math.max(0, callLatencyMillis - attemptsMillis));
+        callsByOperation.merge(call.getOperation(), 1, Integer::sum);
+        calls++;
+        attempts += call.getAttempts();
+        throttles += call.getThrottles();
+        if (failed) {
+            failedCalls++;
+        }
+    }
+
+    // A call answered by another caller's identical call in flight, see SingleFlight
+    synchronized void callShared() {
+        sharedCalls++;
+    }
+
+    synchronized int getCalls() {
+        return calls;
+    }
+
+    private synchronized void enter() {
+        handlerDepth++;
+    }
+
+    private synchronized boolean exit() {
+        return --handlerDepth == 0;
+    }
+
+    private void publish(final Logger logger, final long timestampMillis) {
+        final String line = toEmfLine(timestampMillis);
+        if (line != null) {
+            logger.log(line);
+        }
+    }
+
+    // Null if the invocation neither made nor shared any EC2 calls
+    synchronized String toEmfLine(final long timestampMillis) {
+        if (calls == 0 && sharedCalls == 0) {
+            return null;
+        }
+        final StringBuilder line = new StringBuilder(512)
+            .append("{\"_aws\":{\"Timestamp\":").append(timestampMillis)
+            .append(",\"CloudWatchMetrics\":[{\"Namespace\":\"").append(CallMetrics.NAMESPACE)
+            .append("\",\"Dimensions\":[[\"ResourceType\"]],\"Metrics\":[")
+            .append("{\"Name\":\"Calls\",\"Unit\":\"Count\"},")
+            .append("{\"Name\":\"Attempts\",\"Unit\":\"Count\"},")
+            .append("{\"Name\":\"Throttles\",\"Unit\":\"Count\"},")
+            .append("{\"Name\":\"FailedCalls\",\"Unit\":\"Count\"},")
+            .append("{\"Name\":\"SharedCalls\",\"Unit\":\"Count\"},")
+            .append("{\"Name\":\"AttemptLatency\",\"Unit\":\"Milliseconds\"},")
+            .append("{\"Name\":\"CallLatency\",\"Unit\":\"Milliseconds\"},")
+            .append("{\"Name\":\"RetryDelay\",\"Unit\":\"Milliseconds\"}]}]}")
+            .append(",\"ResourceType\":\"").append(ResourceModel.TYPE_NAME).append('"')
+            .append(",\"Calls\":").append(calls)
+            .append(",\"Attempts\":").append(attempts)
+            .append(",\"Throttles\":").append(throttles)
+            .append(",\"FailedCalls\":").append(failedCalls)
+            .append(",\"SharedCalls\":").append(sharedCalls)
+            .append(",\"AttemptLatency\":");
+        attemptLatencies.appendTo(line);
+        line.append(",\"CallLatency\":");
+        callLatencies.appendTo(line);
+        line.append(",\"RetryDelay\":");
+        retryDelays.appendTo(line);
+        line.append(",\"Operations\":{");
+        String separator = "";
+        for (final Map.Entry<String, Integer> operation : callsByOperation.entrySet()) {
+            line.append(separator).append('"').append(operation.getKey()).append("\":").append(operation.getValue());
+            separator = ",";
+        }
+        return line.append("}}").toString();
+    }
+
+    private static final class Histogram {
+        private final TreeMap<Long, Integer> counts = new TreeMap<>();
+
+        private void add(final long value) {
+            // Past the limit a new value is counted with the nearest one already kept
+            long key = value;
+            if (counts.size() >= MAX_HISTOGRAM_VALUES && !counts.containsKey(value)) {
+                final Long lower = counts.floorKey(value);
+                final Long higher = counts.ceilingKey(value);
+                key = lower == null || (higher != null && higher - value < value - lower) ? higher : lower;
+            }
+            counts.merge(key, 1, Integer::sum);
+        }
+
+        private void appendTo(final StringBuilder line) {
+            final StringBuilder values = new StringBuilder();
+            final StringBuilder valueCounts = new StringBuilder();
+            for (final Map.Entry<Long, Integer> entry : counts.entrySet()) {
+                if (values.length() > 0) {
+                    values.append(',');
+                    valueCounts.append(',');
+                }
+                values.append(entry.getKey());
+                valueCounts.append(entry.getValue());
+            }
+            line.append("{\"Values\":[").append(values).append("],\"Counts\":[").append(valueCounts).append("]}");
+        }
+    }
+}
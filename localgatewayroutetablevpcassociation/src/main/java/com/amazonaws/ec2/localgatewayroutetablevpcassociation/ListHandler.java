@@ -3,49 +3,98 @@ package com.amazonaws.ec2.localgatewayroutetablevpcassociation;
 import software.amazon.awssdk.services.ec2.Ec2Client;
 import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTableVpcAssociationsRequest;
 import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTableVpcAssociationsResponse;
-import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteTableVpcAssociation;
+import software.amazon.awssdk.services.ec2.model.Filter;
 import software.amazon.cloudformation.proxy.*;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import static java.util.stream.Collectors.toList;
+import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Translator.createFiltersFromModel;
 
 public class ListHandler extends BaseHandler<CallbackContext> {
 
+    // Each List call stops once it has this many associations and hands back a token for the rest
+    static final int DEFAULT_ASSOCIATIONS_PER_PAGE = 100;
+
+    // The range EC2 accepts for MaxResults
+    static final int MIN_PAGE_SIZE = 5;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final int associationsPerPage;
+
+    public ListHandler() {
+        this(DEFAULT_ASSOCIATIONS_PER_PAGE);
+    }
+
+    ListHandler(final int associationsPerPage) {
+        this.associationsPerPage = associationsPerPage;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
+
+        final ResourceModel model = request.getDesiredResourceState();
+        final List<ResourceModel> models = new ArrayList<>();
+        // Disassociated associations are never listed, so asking EC2 for them would only fetch pages to throw away
+        if (model != null && ReadHandler.DISASSOCIATED_STATE.equals(model.getState())) {
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModels(models)
+                .status(OperationStatus.SUCCESS)
+                .build();
+        }
 
-        final List<ResourceModel> models = describeAllVpcAssociations(proxy, ClientBuilder.getClient(logger));
+        // Fields set on the model are matched by EC2, so only the associations asked for are returned. The same model
+        // comes with every page of a listing, so the token stays valid for the same filters
+        final List<Filter> filters = createFiltersFromModel(model);
+        final String nextToken = describeVpcAssociations(filters, request.getNextToken(), models, proxy, ClientBuilder.getClient(logger));
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
             .resourceModels(models)
+            .nextToken(nextToken)
             .status(OperationStatus.SUCCESS)
             .build();
     }
 
-    private List<ResourceModel> describeAllVpcAssociations(
+    // Adds pages of associations to models until there are enough for one List call, and returns the token for the
+    // rest, or null once there are none left
+    private String describeVpcAssociations(
+        final List<Filter> filters,
+        final String startToken,
+        final List<ResourceModel> models,
         final AmazonWebServicesClientProxy proxy,
         final Ec2Client client) {
 
-        List<LocalGatewayRouteTableVpcAssociation> associations = new ArrayList<>();
-        String nextToken = null;
+        String nextToken = startToken;
         do {
+            // Each page only asks for what is still missing from this List call
+            final int pageSize = Math.max(MIN_PAGE_SIZE, Math.min(MAX_PAGE_SIZE, associationsPerPage - models.size()));
             final DescribeLocalGatewayRouteTableVpcAssociationsRequest request = DescribeLocalGatewayRouteTableVpcAssociationsRequest
                 .builder()
+                .filters(filters.isEmpty() ? null : filters)
+                .maxResults(pageSize)
                 .nextToken(nextToken)
                 .build();
             final DescribeLocalGatewayRouteTableVpcAssociationsResponse response = proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTableVpcAssociations);
             nextToken = response.nextToken();
-            associations.addAll(response.localGatewayRouteTableVpcAssociations());
-        } while (nextToken != null);
-        return associations
-            .stream()
-            .map(Translator::createModelFromAssociation)
-            .collect(toList());
+            response.localGatewayRouteTableVpcAssociations()
+                .stream()
+                // Read reports a disassociated association as not found, so listing leaves it out as well
+                .filter(association -> !ReadHandler.DISASSOCIATED_STATE.equals(association.state()))
+                .map(Translator::createModelFromAssociation)
+                .forEach(models::add);
+        } while (nextToken != null && models.size() < associationsPerPage);
+        return nextToken;
     }
 }
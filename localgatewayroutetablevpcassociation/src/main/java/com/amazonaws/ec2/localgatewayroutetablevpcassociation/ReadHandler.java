@@ -12,26 +12,39 @@ import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Translator.
 
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
+    // EC2 goes on describing an association in this state for a while after it is gone, so it counts as not found
+    static final String DISASSOCIATED_STATE = "disassociated";
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
         final Ec2Client client = ClientBuilder.getClient(logger);
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
-            .resourceModel(describeVpcAssociation(model.getLocalGatewayRouteTableVpcAssociationId(), proxy, client))
+            .resourceModel(describeVpcAssociation(model.getLocalGatewayRouteTableVpcAssociationId(), request, proxy, client, logger))
             .status(OperationStatus.SUCCESS)
             .build();
     }
 
     private ResourceModel describeVpcAssociation(
         final String vpcAssociationId,
+        final ResourceHandlerRequest<ResourceModel> handlerRequest,
         final AmazonWebServicesClientProxy proxy,
-        final Ec2Client client) {
+        final Ec2Client client,
+        final Logger logger) {
 
         String nextToken = null;
         LocalGatewayRouteTableVpcAssociation association = null;
@@ -41,7 +54,13 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 .localGatewayRouteTableVpcAssociationIds(vpcAssociationId)
                 .nextToken(nextToken)
                 .build();
-            final DescribeLocalGatewayRouteTableVpcAssociationsResponse response = proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTableVpcAssociations);
+            final DescribeLocalGatewayRouteTableVpcAssociationsResponse response = SingleFlight.shared().call(
+                proxy,
+                handlerRequest.getAwsAccountId(),
+                handlerRequest.getRegion(),
+                request,
+                () -> proxy.injectCredentialsAndInvokeV2(request, client::describeLocalGatewayRouteTableVpcAssociations),
+                logger);
             if (response.localGatewayRouteTableVpcAssociations().size() > 1) {
                 throw new CfnGeneralServiceException("Should be 1 association when reading, but was " + response.localGatewayRouteTableVpcAssociations());
             }
@@ -50,7 +69,7 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             }
             nextToken = response.nextToken();
         } while (association == null && nextToken != null);
-        if (association == null) {
+        if (association == null || DISASSOCIATED_STATE.equals(association.state())) {
             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, vpcAssociationId);
         }
         return createModelFromAssociation(association);
@@ -1,9 +1,13 @@
 package com.amazonaws.ec2.localgatewayroutetablevpcassociation;
 
+import lombok.Value;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,6 +29,51 @@ class TagHelper {
         return tags;
     }
 
+    /*
+     * The tag changes that take a resource from its current tags to the desired ones, matched up by key. CreateTags
+     * overwrites the value of a key that is already there, so a changed value only needs creating, and DeleteTags is
+     * left with the keys that are no longer wanted at all.
+     */
+    static TagDiff diffTags(final Set<Tag> currentTags, final Set<Tag> desiredTags) {
+        final Map<String, String> currentValues = new HashMap<>(currentTags.size() * 4 / 3 + 1);
+        for (final Tag tag : currentTags) {
+            currentValues.put(tag.getKey(), tag.getValue());
+        }
+        final Set<String> desiredKeys = new HashSet<>(desiredTags.size() * 4 / 3 + 1);
+        final Set<Tag> tagsToCreate = new HashSet<>();
+        int changedValues = 0;
+        for (final Tag tag : desiredTags) {
+            desiredKeys.add(tag.getKey());
+            if (!currentValues.containsKey(tag.getKey())) {
+                tagsToCreate.add(tag);
+            } else if (!Objects.equals(currentValues.get(tag.getKey()), tag.getValue())) {
+                tagsToCreate.add(tag);
+                changedValues++;
+            }
+        }
+        final Set<Tag> tagsToDelete = new HashSet<>();
+        for (final Tag tag : currentTags) {
+            if (!desiredKeys.contains(tag.getKey())) {
+                tagsToDelete.add(tag);
+            }
+        }
+        return new TagDiff(tagsToCreate, tagsToDelete, changedValues);
+    }
+
+    @Value
+    static class TagDiff {
+        Set<Tag> tagsToCreate;
+        Set<Tag> tagsToDelete;
+
+        // Keys kept with a new value, which a diff of whole tags would also have deleted with their old value
+        int changedValues;
+
+        // DeleteTags calls made unnecessary by leaving changed values to CreateTags alone
+        int getSavedCalls() {
+            return changedValues > 0 && tagsToDelete.isEmpty() ? 1 : 0;
+        }
+    }
+
     /*
      * A few different translator methods below. There's three "tag shapes" we are working with:
      * 1. EC2 SDK Tags, used in EC2 SDK API requests and responses
@@ -59,7 +108,16 @@ class TagHelper {
                 .build();
     }
 
-    public static Set<Tag> createCfnTagsFromSdkTags(final Set<software.amazon.awssdk.services.ec2.model.Tag> tags) {
-        return tags.stream().map(tag -> createCfnTagFromSdkTag(tag)).collect(Collectors.toSet());
+    // Called for every item of a List page, so it takes the SDK's tag list as it is and sizes the set up front, never
+    // below the default so that small sets keep the same iteration order as before
+    public static Set<Tag> createCfnTagsFromSdkTags(final Collection<software.amazon.awssdk.services.ec2.model.Tag> tags) {
+        if (tags.isEmpty()) {
+            return new HashSet<>();
+        }
+        final Set<Tag> cfnTags = new HashSet<>(Math.max(tags.size() * 4 / 3 + 1, 16));
+        for (final software.amazon.awssdk.services.ec2.model.Tag tag : tags) {
+            cfnTags.add(createCfnTagFromSdkTag(tag));
+        }
+        return cfnTags;
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.amazonaws.ec2.localgatewayroutetablevpcassociation;
 
+import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.ec2.model.Filter;
 import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteTableVpcAssociation;
 import software.amazon.awssdk.services.ec2.model.TagDescription;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class Translator {
@@ -18,18 +21,53 @@ public class Translator {
             .localGatewayRouteTableVpcAssociationId(association.localGatewayRouteTableVpcAssociationId())
             .state(association.state())
             .vpcId(association.vpcId())
-            .tags(TagHelper.createCfnTagsFromSdkTags(new HashSet<>(association.tags())))
+            .tags(TagHelper.createCfnTagsFromSdkTags(association.tags()))
             .build();
     }
 
+    // The fields set on a List request's model, as filters that narrow the listing down to matching associations
+    static List<Filter> createFiltersFromModel(final ResourceModel model) {
+        final List<Filter> filters = new ArrayList<>();
+        if (model == null) {
+            return filters;
+        }
+        addFilter(filters, "local-gateway-id", model.getLocalGatewayId());
+        addFilter(filters, "local-gateway-route-table-id", model.getLocalGatewayRouteTableId());
+        addFilter(filters, "vpc-id", model.getVpcId());
+        addFilter(filters, "state", model.getState());
+        return filters;
+    }
+
+    private static void addFilter(final List<Filter> filters, final String name, final String value) {
+        if (value != null && !value.isEmpty()) {
+            filters.add(Filter.builder().name(name).values(value).build());
+        }
+    }
+
     static HandlerErrorCode getHandlerErrorForEc2Error(final String errorCode) {
         switch (errorCode) {
             case "UnauthorizedOperation":
                 return HandlerErrorCode.AccessDenied;
             case "InvalidParameter":
                 return HandlerErrorCode.InvalidRequest;
+            case "RequestLimitExceeded":
+            case "Throttling":
+                return HandlerErrorCode.Throttling;
+            case "InternalError":
+            case "ServiceUnavailable":
+            case "Unavailable":
+                return HandlerErrorCode.ServiceInternalError;
             default:
                 return HandlerErrorCode.GeneralServiceException;
         }
     }
+
+    // Throttling and server side failures are worth trying again later, the request itself was fine
+    static boolean isTransientEc2Error(final Ec2Exception e) {
+        final HandlerErrorCode errorCode = getHandlerErrorForEc2Error(e.awsErrorDetails().errorCode());
+        return e.isThrottlingException()
+            || e.statusCode() >= 500
+            || errorCode == HandlerErrorCode.Throttling
+            || errorCode == HandlerErrorCode.ServiceInternalError;
+    }
 }
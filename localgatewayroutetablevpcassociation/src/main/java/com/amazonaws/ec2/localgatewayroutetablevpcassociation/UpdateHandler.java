@@ -15,12 +15,21 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.EventGenerator.createFailedOrRescheduledEvent;
 import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Translator.getHandlerErrorForEc2Error;
 
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
+        return InvocationMetrics.publishAfter(logger, () -> handle(proxy, request, callbackContext, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
@@ -60,30 +69,40 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             }
 
             // To make this update minimally intrusive we only change tags that are not staying the same between updates
-            final Set<Tag> tagsToCreate = desiredTags
-                .stream()
-                .filter(tag -> !currentTags.contains(tag))
-                .collect(Collectors.toSet());
-            final Set<Tag> tagsToDelete = currentTags
-                .stream()
-                .filter(tag -> !desiredTags.contains(tag))
-                .collect(Collectors.toSet());
+            final TagHelper.TagDiff tagDiff = TagHelper.diffTags(currentTags, desiredTags);
+            if (tagDiff.getSavedCalls() > 0) {
+                logger.log(String.format("%d changed tag values need no DeleteTags call", tagDiff.getChangedValues()));
+            }
 
             final CallbackContext nextContext = CallbackContext
                 .builder()
                 .updateStarted(true)
-                .tagsToCreate(tagsToCreate)
-                .tagsToDelete(tagsToDelete)
+                .tagsToCreate(tagDiff.getTagsToCreate())
+                .tagsToDelete(tagDiff.getTagsToDelete())
                 .build();
 
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .callbackContext(nextContext)
-                .resourceModel(model)
-                .status(OperationStatus.IN_PROGRESS)
-                .build();
+            if (!InvocationDeadline.of(logger).allowsAnotherCall()) {
+                // Too little time is left to tag in this invocation, so the next one makes the tag changes
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .callbackContext(nextContext)
+                    .resourceModel(model)
+                    .status(OperationStatus.IN_PROGRESS)
+                    .build();
+            }
+            return updateTags(model, nextContext, proxy, client, logger);
         }
 
-        // Create new tags before deleting old ones
+        return updateTags(model, callbackContext, proxy, client, logger);
+    }
+
+    // Creates the new tags recorded in context before deleting the old ones
+    private ProgressEvent<ResourceModel, CallbackContext> updateTags(
+        final ResourceModel model,
+        final CallbackContext callbackContext,
+        final AmazonWebServicesClientProxy proxy,
+        final Ec2Client client,
+        final Logger logger) {
+        boolean tagsCreated = false;
         try {
             if (callbackContext.getTagsToCreate() != null && !callbackContext.getTagsToCreate().isEmpty()) {
                 final CreateTagsRequest createTagsRequest = CreateTagsRequest
@@ -92,8 +111,22 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                     .resources(model.getLocalGatewayRouteTableVpcAssociationId())
                     .build();
                 proxy.injectCredentialsAndInvokeV2(createTagsRequest, client::createTags);
+                tagsCreated = true;
             }
             if (callbackContext.getTagsToDelete() != null && !callbackContext.getTagsToDelete().isEmpty()) {
+                if (tagsCreated && !InvocationDeadline.of(logger).allowsAnotherCall()) {
+                    // The new tags are on, so only deleting the old ones is left for the next invocation
+                    final CallbackContext nextContext = CallbackContext
+                        .builder()
+                        .updateStarted(true)
+                        .tagsToDelete(callbackContext.getTagsToDelete())
+                        .build();
+                    return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .callbackContext(nextContext)
+                        .resourceModel(model)
+                        .status(OperationStatus.IN_PROGRESS)
+                        .build();
+                }
                 final DeleteTagsRequest deleteTagsRequest = DeleteTagsRequest
                     .builder()
                     .tags(callbackContext.getTagsToDelete().stream().map(TagHelper::createSdkTagFromCfnTag).collect(Collectors.toSet()))
@@ -102,12 +135,8 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 proxy.injectCredentialsAndInvokeV2(deleteTagsRequest, client::deleteTags);
             }
         } catch (Ec2Exception e) {
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(model)
-                .status(OperationStatus.FAILED)
-                .errorCode(getHandlerErrorForEc2Error(e.awsErrorDetails().errorCode()))
-                .message(e.getMessage())
-                .build();
+            // CreateTags and DeleteTags can be repeated, so the tag update is retried from the same context
+            return createFailedOrRescheduledEvent(model, callbackContext, e);
         }
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
@@ -31,7 +31,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Constants.POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.EventGenerator.FIRST_POLLING_DELAY_SECONDS;
 import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Translator.createModelFromAssociation;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -91,7 +91,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
             .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, null, logger);
@@ -126,7 +126,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
                 .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         // Test that both types of tags get added
         ResourceModel modelWithTags = ResourceModel.builder()
@@ -183,7 +183,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateLocalGatewayRouteTableVpcAssociationRequest.class), any()))
             .thenThrow(unexpectedException);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, null, logger);
@@ -208,7 +208,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
             .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final Set<Tag> tagSet = new HashSet<>();
         tagSet.add(Tag.builder().key("Name").value("MyAssociation").build());
@@ -242,7 +242,7 @@ public class CreateHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_AssociationAlreadyExists_Fails() {
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final AwsErrorDetails errorDetails = AwsErrorDetails.builder()
             .errorCode("LocalGatewayRouteTableVpcAssociationAlreadyExists")
@@ -269,7 +269,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
             .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, inProgressContext, logger);
@@ -301,7 +301,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
             .thenThrow(unexpectedException);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, inProgressContext, logger);
@@ -329,15 +329,16 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
             .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, requestAfterAssociationCreated, inProgressContext, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().isCreateStarted()).isTrue();
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromAssociation(TEST_ASSOCIATION));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -354,15 +355,16 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
             .thenReturn(describeResponse);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, requestAfterAssociationCreated, inProgressContext, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().isCreateStarted()).isTrue();
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromAssociation(PENDING_ASSOCIATION));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -377,7 +379,7 @@ public class CreateHandlerTest extends TestBase {
                 .localGatewayRouteTableId(ROUTE_TABLE_ID)
                 .build();
         request.setDesiredResourceState(invalidModel);
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -23,12 +23,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 
-import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Constants.POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.EventGenerator.FIRST_POLLING_DELAY_SECONDS;
 import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Translator.createModelFromAssociation;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -52,6 +53,11 @@ public class DeleteHandlerTest extends TestBase {
         .deleteStarted(true)
         .build();
 
+    private final DescribeLocalGatewayRouteTableVpcAssociationsResponse FOUND_RESPONSE = DescribeLocalGatewayRouteTableVpcAssociationsResponse
+        .builder()
+        .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION)
+        .build();
+
     @BeforeEach
     public void setup() {
         proxy = mock(AmazonWebServicesClientProxy.class);
@@ -66,9 +72,9 @@ public class DeleteHandlerTest extends TestBase {
             .build();
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
-            .thenReturn(describeResponse);
+            .thenReturn(FOUND_RESPONSE, describeResponse);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, null, logger);
@@ -88,11 +94,6 @@ public class DeleteHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_DeleteNotStarted_Failed() {
-        final DescribeLocalGatewayRouteTableVpcAssociationsResponse describeResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
-            .builder()
-            .localGatewayRouteTableVpcAssociations(Collections.emptyList())
-            .build();
-
         final AwsErrorDetails errorDetails = AwsErrorDetails.builder()
             .errorCode("UnexpectedError")
             .build();
@@ -103,11 +104,11 @@ public class DeleteHandlerTest extends TestBase {
             .build();
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
-            .thenReturn(describeResponse);
+            .thenReturn(FOUND_RESPONSE);
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteTableVpcAssociationRequest.class), any()))
             .thenThrow(unexpectedException);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, null, logger);
@@ -134,14 +135,100 @@ public class DeleteHandlerTest extends TestBase {
             .awsErrorDetails(errorDetails)
             .build();
 
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
+            .thenReturn(FOUND_RESPONSE);
         when(proxy.injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteTableVpcAssociationRequest.class), any()))
             .thenThrow(notFoundException);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void handleRequest_DeletedWhilePolling_Success() {
+        final DescribeLocalGatewayRouteTableVpcAssociationsResponse describeResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
+        .builder()
+        .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION)
+        .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
+        .thenReturn(describeResponse, DescribeLocalGatewayRouteTableVpcAssociationsResponse.builder().build());
+
+        final DeleteHandler handler = new DeleteHandler(new InvocationPoller(3, 1));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+        = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy, times(2))
+        .injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+    }
+
+    @Test
+    public void handleRequest_DisassociatedWhilePolling_Success() {
+        final DescribeLocalGatewayRouteTableVpcAssociationsResponse disassociatingResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
+            .builder()
+            .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION.toBuilder().state("disassociating").build())
+            .build();
+        final DescribeLocalGatewayRouteTableVpcAssociationsResponse disassociatedResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
+            .builder()
+            .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION.toBuilder().state("disassociated").build())
+            .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
+            .thenReturn(disassociatingResponse, disassociatedResponse);
+
+        final DeleteHandler handler = new DeleteHandler(new InvocationPoller(3, 1));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        // Done as soon as the association is disassociated, without waiting for EC2 to stop describing it
+        verify(proxy, times(2))
+            .injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel()).isNull();
+    }
+
+    @Test
+    public void handleRequest_AlreadyDisassociated_NotFound() {
+        final DescribeLocalGatewayRouteTableVpcAssociationsResponse disassociatedResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
+            .builder()
+            .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION.toBuilder().state("disassociated").build())
+            .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
+            .thenReturn(disassociatedResponse);
+
+        // A second delete of an association EC2 still describes as disassociated does not disassociate it again
+        assertThrows(CfnNotFoundException.class, () -> new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger));
+        verify(proxy, never())
+            .injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteTableVpcAssociationRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_DisassociatedThenDeletedAgain_NotFound() {
+        final DescribeLocalGatewayRouteTableVpcAssociationsResponse disassociatedResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
+            .builder()
+            .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION.toBuilder().state("disassociated").build())
+            .build();
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
+            .thenReturn(FOUND_RESPONSE, disassociatedResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThrows(CfnNotFoundException.class, () -> new ReadHandler().handleRequest(proxy, request, null, logger));
+        assertThrows(CfnNotFoundException.class, () -> new DeleteHandler(InvocationPoller.DISABLED).handleRequest(proxy, request, null, logger));
+        verify(proxy, times(1))
+            .injectCredentialsAndInvokeV2(any(DeleteLocalGatewayRouteTableVpcAssociationRequest.class), any());
+    }
+
     @Test
     public void handleRequest_InProgress() {
         final DescribeLocalGatewayRouteTableVpcAssociationsResponse describeResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
@@ -152,7 +239,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
             .thenReturn(describeResponse);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, null, logger);
@@ -162,8 +249,9 @@ public class DeleteHandlerTest extends TestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().isDeleteStarted()).isTrue();
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromAssociation(TEST_ASSOCIATION));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -180,7 +268,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
             .thenReturn(describeResponse);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, inProgressContext, logger);
@@ -212,7 +300,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
             .thenThrow(unauthorizedException);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(InvocationPoller.DISABLED);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, inProgressContext, logger);
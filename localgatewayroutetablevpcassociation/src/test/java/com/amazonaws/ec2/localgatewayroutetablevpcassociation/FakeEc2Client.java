@@ -0,0 +1,498 @@
+package com.amazonaws.ec2.localgatewayroutetablevpcassociation;
+
+import org.mockito.Mockito;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteTableRequest;
+import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteTableResponse;
+import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteTableVpcAssociationRequest;
+import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteTableVpcAssociationResponse;
+import software.amazon.awssdk.services.ec2.model.CreateTagsRequest;
+import software.amazon.awssdk.services.ec2.model.CreateTagsResponse;
+import software.amazon.awssdk.services.ec2.model.DeleteLocalGatewayRouteTableVpcAssociationRequest;
+import software.amazon.awssdk.services.ec2.model.DeleteLocalGatewayRouteTableVpcAssociationResponse;
+import software.amazon.awssdk.services.ec2.model.DeleteTagsRequest;
+import software.amazon.awssdk.services.ec2.model.DeleteTagsResponse;
+import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTableVpcAssociationsRequest;
+import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTableVpcAssociationsResponse;
+import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.ec2.model.Filter;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteTable;
+import software.amazon.awssdk.services.ec2.model.LocalGatewayRouteTableVpcAssociation;
+import software.amazon.awssdk.services.ec2.model.Tag;
+import software.amazon.awssdk.services.ec2.model.TagSpecification;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+
+/*
+ * In-memory stand-in for the parts of EC2 the association handlers call: VPC associations of local gateway route
+ * tables, and their tags. Handlers are pointed at it through proxy(), which answers every call the handlers make from
+ * this fake rather than from the client they pass, so whole create, read, update, delete and list workflows can be
+ * run, timed and counted without AWS. Route tables can only be created, to have something to associate with.
+ *
+ * New resources stay pending, and deleted ones deleting, for the transition delay. Deleted resources are then shown in
+ * their final state for the terminal state retention before they disappear. Time only moves when advance() is called,
+ * unless the fake is given a real clock. Errors can be injected per operation, and every Nth call can be throttled.
+ */
+class FakeEc2Client implements Ec2Client {
+    static final String OWNER_ID = "123456789012";
+    static final String OUTPOST_ARN = "arn:aws:outposts:us-west-2:" + OWNER_ID + ":outpost/op-0123456789abcdef0";
+
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+    private static final String ANY_OPERATION = "*";
+
+    private final Clock clock;
+    private long advancedMillis;
+    private Duration transitionDelay = Duration.ZERO;
+    private Duration terminalStateRetention = Duration.ZERO;
+    private int throttleEveryNthCall;
+    private long nextId = 1;
+
+    private final Map<String, Integer> calls = new HashMap<>();
+    private int totalCalls;
+    private final Map<String, Deque<String>> injectedErrors = new HashMap<>();
+
+    private final Map<String, RouteTableRecord> routeTables = new LinkedHashMap<>();
+    private final Map<String, VpcAssociationRecord> vpcAssociations = new LinkedHashMap<>();
+    private final Map<String, Map<String, String>> tags = new HashMap<>();
+
+    FakeEc2Client() {
+        this(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+    }
+
+    FakeEc2Client(final Clock clock) {
+        this.clock = clock;
+    }
+
+    // A handler proxy that makes every call against this fake
+    AmazonWebServicesClientProxy proxy() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(AwsRequest.class), any()))
+            .thenAnswer(invocation -> invoke(invocation.getArgument(0)));
+        return proxy;
+    }
+
+    synchronized void advance(final Duration duration) {
+        advancedMillis += duration.toMillis();
+    }
+
+    synchronized void setTransitionDelay(final Duration transitionDelay) {
+        this.transitionDelay = transitionDelay;
+    }
+
+    synchronized void setTerminalStateRetention(final Duration terminalStateRetention) {
+        this.terminalStateRetention = terminalStateRetention;
+    }
+
+    // Every Nth call fails with RequestLimitExceeded, 0 for none
+    synchronized void throttleEveryNthCall(final int n) {
+        this.throttleEveryNthCall = n;
+    }
+
+    // The next call of the operation, such as "CreateTags", or of any operation for "*", fails with the error code
+    synchronized void failNextCall(final String operation, final String errorCode) {
+        injectedErrors.computeIfAbsent(operation, key -> new ArrayDeque<>()).add(errorCode);
+    }
+
+    synchronized int getCalls(final String operation) {
+        return calls.getOrDefault(operation, 0);
+    }
+
+    synchronized int getTotalCalls() {
+        return totalCalls;
+    }
+
+    synchronized Map<String, String> getTags(final String resourceId) {
+        return new HashMap<>(tags.getOrDefault(resourceId, new HashMap<>()));
+    }
+
+    synchronized void resetCalls() {
+        calls.clear();
+        totalCalls = 0;
+    }
+
+    AwsResponse invoke(final AwsRequest request) {
+        if (request instanceof CreateLocalGatewayRouteTableRequest) {
+            return createLocalGatewayRouteTable((CreateLocalGatewayRouteTableRequest) request);
+        } else if (request instanceof CreateLocalGatewayRouteTableVpcAssociationRequest) {
+            return createLocalGatewayRouteTableVpcAssociation((CreateLocalGatewayRouteTableVpcAssociationRequest) request);
+        } else if (request instanceof DeleteLocalGatewayRouteTableVpcAssociationRequest) {
+            return deleteLocalGatewayRouteTableVpcAssociation((DeleteLocalGatewayRouteTableVpcAssociationRequest) request);
+        } else if (request instanceof DescribeLocalGatewayRouteTableVpcAssociationsRequest) {
+            return describeLocalGatewayRouteTableVpcAssociations((DescribeLocalGatewayRouteTableVpcAssociationsRequest) request);
+        } else if (request instanceof CreateTagsRequest) {
+            return createTags((CreateTagsRequest) request);
+        } else if (request instanceof DeleteTagsRequest) {
+            return deleteTags((DeleteTagsRequest) request);
+        }
+        throw new UnsupportedOperationException(request.getClass().getSimpleName() + " is not faked");
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    // Route tables
+
+    @Override
+    public synchronized CreateLocalGatewayRouteTableResponse createLocalGatewayRouteTable(final CreateLocalGatewayRouteTableRequest request) {
+        beforeCall(request);
+        final RouteTableRecord routeTable = new RouteTableRecord(newId("lgw-rtb-"), request.localGatewayId(), request.modeAsString(), now());
+        routeTables.put(routeTable.id, routeTable);
+        tagOnCreate(routeTable.id, request.tagSpecifications());
+        return CreateLocalGatewayRouteTableResponse.builder().localGatewayRouteTable(routeTable.toSdk()).build();
+    }
+
+    // VPC associations
+
+    @Override
+    public synchronized CreateLocalGatewayRouteTableVpcAssociationResponse createLocalGatewayRouteTableVpcAssociation(
+        final CreateLocalGatewayRouteTableVpcAssociationRequest request) {
+        beforeCall(request);
+        final RouteTableRecord routeTable = requireRouteTable(request.localGatewayRouteTableId());
+        for (final VpcAssociationRecord association : vpcAssociations.values()) {
+            if (association.isVisible() && association.deletedAt == null
+                && association.localGatewayRouteTableId.equals(routeTable.id) && association.vpcId.equals(request.vpcId())) {
+                throw error("LocalGatewayRouteTableVpcAssociationAlreadyExists", 400);
+            }
+        }
+        final VpcAssociationRecord association = new VpcAssociationRecord(newId("lgw-vpc-assoc-"), routeTable, request.vpcId(), now());
+        vpcAssociations.put(association.id, association);
+        tagOnCreate(association.id, request.tagSpecifications());
+        return CreateLocalGatewayRouteTableVpcAssociationResponse.builder().localGatewayRouteTableVpcAssociation(association.toSdk()).build();
+    }
+
+    @Override
+    public synchronized DeleteLocalGatewayRouteTableVpcAssociationResponse deleteLocalGatewayRouteTableVpcAssociation(
+        final DeleteLocalGatewayRouteTableVpcAssociationRequest request) {
+        beforeCall(request);
+        final VpcAssociationRecord association = vpcAssociations.get(request.localGatewayRouteTableVpcAssociationId());
+        if (association == null || !association.isVisible()) {
+            throw error("InvalidLocalGatewayRouteTableVpcAssociationID.NotFound", 400);
+        }
+        association.delete();
+        return DeleteLocalGatewayRouteTableVpcAssociationResponse.builder().localGatewayRouteTableVpcAssociation(association.toSdk()).build();
+    }
+
+    @Override
+    public synchronized DescribeLocalGatewayRouteTableVpcAssociationsResponse describeLocalGatewayRouteTableVpcAssociations(
+        final DescribeLocalGatewayRouteTableVpcAssociationsRequest request) {
+        beforeCall(request);
+        final Page<LocalGatewayRouteTableVpcAssociation> page = describe(vpcAssociations, request.localGatewayRouteTableVpcAssociationIds(),
+            request.filters(), request.maxResults(), request.nextToken());
+        return DescribeLocalGatewayRouteTableVpcAssociationsResponse.builder()
+            .localGatewayRouteTableVpcAssociations(page.items)
+            .nextToken(page.nextToken)
+            .build();
+    }
+
+    // Tags
+
+    @Override
+    public synchronized CreateTagsResponse createTags(final CreateTagsRequest request) {
+        beforeCall(request);
+        for (final String resourceId : request.resources()) {
+            requireTaggable(resourceId);
+            for (final Tag tag : request.tags()) {
+                tags.computeIfAbsent(resourceId, key -> new LinkedHashMap<>()).put(tag.key(), tag.value() == null ? "" : tag.value());
+            }
+        }
+        return CreateTagsResponse.builder().build();
+    }
+
+    // As in EC2, a tag given with a value is only deleted if it still has that value
+    @Override
+    public synchronized DeleteTagsResponse deleteTags(final DeleteTagsRequest request) {
+        beforeCall(request);
+        for (final String resourceId : request.resources()) {
+            requireTaggable(resourceId);
+            final Map<String, String> resourceTags = tags.get(resourceId);
+            if (resourceTags == null) {
+                continue;
+            }
+            if (!request.hasTags() || request.tags().isEmpty()) {
+                resourceTags.clear();
+            }
+            for (final Tag tag : request.tags()) {
+                if (tag.value() == null || tag.value().equals(resourceTags.get(tag.key()))) {
+                    resourceTags.remove(tag.key());
+                }
+            }
+        }
+        return DeleteTagsResponse.builder().build();
+    }
+
+    private void beforeCall(final AwsRequest request) {
+        final String operation = request.getClass().getSimpleName().replaceFirst("Request$", "");
+        calls.merge(operation, 1, Integer::sum);
+        totalCalls++;
+        for (final String key : new String[] {operation, ANY_OPERATION}) {
+            final Deque<String> errors = injectedErrors.get(key);
+            if (errors != null && !errors.isEmpty()) {
+                final String errorCode = errors.poll();
+                throw error(errorCode, errorCode.startsWith("Invalid") || errorCode.endsWith("AlreadyExists") ? 400 : 503);
+            }
+        }
+        if (throttleEveryNthCall > 0 && totalCalls % throttleEveryNthCall == 0) {
+            throw error("RequestLimitExceeded", 503);
+        }
+    }
+
+    private static Ec2Exception error(final String errorCode, final int statusCode) {
+        final String message = "Fake EC2 error " + errorCode;
+        return (Ec2Exception) Ec2Exception.builder()
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).errorMessage(message).build())
+            .statusCode(statusCode)
+            .message(message)
+            .build();
+    }
+
+    private long now() {
+        return clock.millis() + advancedMillis;
+    }
+
+    private String newId(final String prefix) {
+        return prefix + String.format("%017x", nextId++);
+    }
+
+    private RouteTableRecord requireRouteTable(final String localGatewayRouteTableId) {
+        final RouteTableRecord routeTable = routeTables.get(localGatewayRouteTableId);
+        if (routeTable == null || !routeTable.isVisible() || routeTable.deletedAt != null) {
+            throw error("InvalidLocalGatewayRouteTableID.NotFound", 400);
+        }
+        return routeTable;
+    }
+
+    private void requireTaggable(final String resourceId) {
+        final Lifecycle resource = vpcAssociations.get(resourceId);
+        if (resource == null || !resource.isVisible()) {
+            throw error("InvalidID", 400);
+        }
+    }
+
+    private void tagOnCreate(final String resourceId, final List<TagSpecification> tagSpecifications) {
+        for (final TagSpecification tagSpecification : tagSpecifications) {
+            for (final Tag tag : tagSpecification.tags()) {
+                tags.computeIfAbsent(resourceId, key -> new LinkedHashMap<>()).put(tag.key(), tag.value() == null ? "" : tag.value());
+            }
+        }
+    }
+
+    private List<Tag> sdkTags(final String resourceId) {
+        final List<Tag> sdkTags = new ArrayList<>();
+        tags.getOrDefault(resourceId, new HashMap<>())
+            .forEach((key, value) -> sdkTags.add(Tag.builder().key(key).value(value).build()));
+        return sdkTags;
+    }
+
+    // Resources with any of the IDs, if given, that match every filter, a page at a time. Resources past their
+    // terminal state retention are dropped on the way
+    private <T> Page<T> describe(
+        final Map<String, ? extends Lifecycle> resources,
+        final Collection<String> ids,
+        final List<Filter> filters,
+        final Integer maxResults,
+        final String nextToken) {
+        final List<T> matches = new ArrayList<>();
+        final Iterator<? extends Map.Entry<String, ? extends Lifecycle>> entries = resources.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Lifecycle resource = entries.next().getValue();
+            if (!resource.isVisible()) {
+                entries.remove();
+                continue;
+            }
+            if ((ids == null || ids.isEmpty() || ids.contains(resource.id)) && matchesAll(resource, filters)) {
+                @SuppressWarnings("unchecked")
+                final T item = (T) resource.toSdk();
+                matches.add(item);
+            }
+        }
+        final int start;
+        try {
+            start = nextToken == null ? 0 : Integer.parseInt(nextToken.substring("page-".length()));
+        } catch (RuntimeException e) {
+            throw error("InvalidNextToken", 400);
+        }
+        final int end = Math.min(matches.size(), start + (maxResults == null ? DEFAULT_PAGE_SIZE : maxResults));
+        return new Page<>(new ArrayList<>(matches.subList(Math.min(start, end), end)), end < matches.size() ? "page-" + end : null);
+    }
+
+    private boolean matchesAll(final Lifecycle resource, final List<Filter> filters) {
+        final Map<String, String> attributes = resource.filterAttributes();
+        for (final Filter filter : filters) {
+            final String value;
+            if (filter.name().startsWith("tag:")) {
+                value = tags.getOrDefault(resource.id, new HashMap<>()).get(filter.name().substring("tag:".length()));
+            } else if (attributes.containsKey(filter.name())) {
+                value = attributes.get(filter.name());
+            } else {
+                throw error("InvalidParameterValue", 400);
+            }
+            if (!filter.values().contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Page<T> {
+        private final List<T> items;
+        private final String nextToken;
+
+        private Page(final List<T> items, final String nextToken) {
+            this.items = items;
+            this.nextToken = nextToken;
+        }
+    }
+
+    private abstract class Lifecycle {
+        final String id;
+        long createdAt;
+        Long deletedAt;
+
+        Lifecycle(final String id, final long createdAt) {
+            this.id = id;
+            this.createdAt = createdAt;
+        }
+
+        void delete() {
+            if (deletedAt == null) {
+                deletedAt = now();
+            }
+        }
+
+        boolean isVisible() {
+            return deletedAt == null || now() < deletedAt + transitionDelay.toMillis() + terminalStateRetention.toMillis();
+        }
+
+        String state(final String starting, final String ready, final String stopping, final String stopped) {
+            if (deletedAt == null) {
+                return now() < createdAt + transitionDelay.toMillis() ? starting : ready;
+            }
+            return now() < deletedAt + transitionDelay.toMillis() ? stopping : stopped;
+        }
+
+        abstract String state();
+
+        abstract Object toSdk();
+
+        abstract Map<String, String> filterAttributes();
+    }
+
+    private final class RouteTableRecord extends Lifecycle {
+        private final String localGatewayId;
+        private final String mode;
+
+        private RouteTableRecord(final String id, final String localGatewayId, final String mode, final long createdAt) {
+            super(id, createdAt);
+            this.localGatewayId = localGatewayId;
+            this.mode = mode;
+        }
+
+        private String arn() {
+            return "arn:aws:ec2:us-west-2:" + OWNER_ID + ":local-gateway-route-table/" + id;
+        }
+
+        @Override
+        String state() {
+            return state("pending", "available", "deleting", "deleted");
+        }
+
+        @Override
+        LocalGatewayRouteTable toSdk() {
+            return LocalGatewayRouteTable.builder()
+                .localGatewayRouteTableId(id)
+                .localGatewayRouteTableArn(arn())
+                .localGatewayId(localGatewayId)
+                .outpostArn(OUTPOST_ARN)
+                .ownerId(OWNER_ID)
+                .mode(mode)
+                .state(state())
+                .tags(sdkTags(id))
+                .build();
+        }
+
+        @Override
+        Map<String, String> filterAttributes() {
+            final Map<String, String> attributes = new HashMap<>();
+            attributes.put("local-gateway-route-table-id", id);
+            attributes.put("local-gateway-route-table-arn", arn());
+            attributes.put("local-gateway-id", localGatewayId);
+            attributes.put("outpost-arn", OUTPOST_ARN);
+            attributes.put("owner-id", OWNER_ID);
+            attributes.put("state", state());
+            return attributes;
+        }
+    }
+
+    private final class VpcAssociationRecord extends Lifecycle {
+        private final String localGatewayRouteTableId;
+        private final String localGatewayRouteTableArn;
+        private final String localGatewayId;
+        private final String vpcId;
+
+        private VpcAssociationRecord(final String id, final RouteTableRecord routeTable, final String vpcId, final long createdAt) {
+            super(id, createdAt);
+            this.localGatewayRouteTableId = routeTable.id;
+            this.localGatewayRouteTableArn = routeTable.arn();
+            this.localGatewayId = routeTable.localGatewayId;
+            this.vpcId = vpcId;
+        }
+
+        @Override
+        String state() {
+            return state("associating", "associated", "disassociating", "disassociated");
+        }
+
+        @Override
+        LocalGatewayRouteTableVpcAssociation toSdk() {
+            return LocalGatewayRouteTableVpcAssociation.builder()
+                .localGatewayRouteTableVpcAssociationId(id)
+                .localGatewayRouteTableId(localGatewayRouteTableId)
+                .localGatewayRouteTableArn(localGatewayRouteTableArn)
+                .localGatewayId(localGatewayId)
+                .vpcId(vpcId)
+                .ownerId(OWNER_ID)
+                .state(state())
+                .tags(sdkTags(id))
+                .build();
+        }
+
+        @Override
+        Map<String, String> filterAttributes() {
+            final Map<String, String> attributes = new HashMap<>();
+            attributes.put("local-gateway-route-table-vpc-association-id", id);
+            attributes.put("local-gateway-route-table-id", localGatewayRouteTableId);
+            attributes.put("local-gateway-route-table-arn", localGatewayRouteTableArn);
+            attributes.put("local-gateway-id", localGatewayId);
+            attributes.put("vpc-id", vpcId);
+            attributes.put("owner-id", OWNER_ID);
+            attributes.put("state", state());
+            return attributes;
+        }
+    }
+
+}
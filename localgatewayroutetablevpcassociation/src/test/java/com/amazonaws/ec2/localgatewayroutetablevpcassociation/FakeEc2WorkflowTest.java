@@ -0,0 +1,122 @@
+package com.amazonaws.ec2.localgatewayroutetablevpcassociation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ec2.model.CreateLocalGatewayRouteTableRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+
+public class FakeEc2WorkflowTest {
+    private static final String LOCAL_GATEWAY_ID = "lgw-12345678912345678";
+    private static final String VPC_ID = "vpc-12345678";
+    private static final int MAX_INVOCATIONS = 20;
+
+    private FakeEc2Client ec2;
+    private AmazonWebServicesClientProxy proxy;
+    private String routeTableId;
+
+    @BeforeEach
+    public void setup() {
+        ec2 = new FakeEc2Client();
+        proxy = ec2.proxy();
+        routeTableId = ec2.createLocalGatewayRouteTable(CreateLocalGatewayRouteTableRequest.builder().localGatewayId(LOCAL_GATEWAY_ID).build())
+            .localGatewayRouteTable()
+            .localGatewayRouteTableId();
+        ec2.setTransitionDelay(Duration.ofSeconds(5));
+        ec2.resetCalls();
+    }
+
+    @Test
+    public void testCreateReadUpdateListDelete() {
+        final ResourceModel desired = ResourceModel.builder()
+            .localGatewayRouteTableId(routeTableId)
+            .vpcId(VPC_ID)
+            .tags(Collections.singleton(Tag.builder().key("Stage").value("Test").build()))
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> created = run(new CreateHandler(InvocationPoller.DISABLED), request(desired));
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(created.getResourceModel().getState()).isEqualTo("associated");
+        final String associationId = created.getResourceModel().getLocalGatewayRouteTableVpcAssociationId();
+
+        final ResourceModel read = new ReadHandler()
+            .handleRequest(proxy, request(ResourceModel.builder().localGatewayRouteTableVpcAssociationId(associationId).build()), null, logger())
+            .getResourceModel();
+        assertThat(read).isEqualTo(created.getResourceModel());
+
+        final ResourceModel updated = ResourceModel.builder()
+            .localGatewayRouteTableVpcAssociationId(associationId)
+            .localGatewayRouteTableId(routeTableId)
+            .vpcId(VPC_ID)
+            .tags(Collections.singleton(Tag.builder().key("Stage").value("Prod").build()))
+            .build();
+        assertThat(run(new UpdateHandler(), request(updated)).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(ec2.getTags(associationId)).containsExactly(entry("Stage", "Prod"));
+
+        final ProgressEvent<ResourceModel, CallbackContext> listed = new ListHandler()
+            .handleRequest(proxy, request(ResourceModel.builder().vpcId(VPC_ID).build()), null, logger());
+        assertThat(listed.getResourceModels())
+            .extracting(ResourceModel::getLocalGatewayRouteTableVpcAssociationId)
+            .containsExactly(associationId);
+        assertThat(new ListHandler()
+            .handleRequest(proxy, request(ResourceModel.builder().vpcId("vpc-87654321").build()), null, logger())
+            .getResourceModels()).isEmpty();
+
+        final ProgressEvent<ResourceModel, CallbackContext> deleted = run(new DeleteHandler(InvocationPoller.DISABLED), request(updated));
+        assertThat(deleted.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(ec2.getCalls("DeleteLocalGatewayRouteTableVpcAssociation")).isEqualTo(1);
+    }
+
+    @Test
+    public void testThrottledCallsAreRetriedByLaterInvocations() {
+        ec2.setTransitionDelay(Duration.ZERO);
+        final ResourceModel desired = ResourceModel.builder()
+            .localGatewayRouteTableId(routeTableId)
+            .vpcId(VPC_ID)
+            .build();
+        ec2.failNextCall("DescribeLocalGatewayRouteTableVpcAssociations", "RequestLimitExceeded");
+
+        final ProgressEvent<ResourceModel, CallbackContext> created = run(new CreateHandler(InvocationPoller.DISABLED), request(desired));
+
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(ec2.getCalls("CreateLocalGatewayRouteTableVpcAssociation")).isEqualTo(1);
+        assertThat(ec2.getCalls("DescribeLocalGatewayRouteTableVpcAssociations")).isEqualTo(2);
+    }
+
+    // Invokes the handler the way CloudFormation does, again after each IN_PROGRESS event with the context and model
+    // it returned, letting the requested callback delay pass on the fake's clock in between
+    private ProgressEvent<ResourceModel, CallbackContext> run(
+        final BaseHandler<CallbackContext> handler,
+        final ResourceHandlerRequest<ResourceModel> request) {
+        ProgressEvent<ResourceModel, CallbackContext> event = handler.handleRequest(proxy, request, null, logger());
+        for (int invocations = 1; event.getStatus() == OperationStatus.IN_PROGRESS && invocations < MAX_INVOCATIONS; invocations++) {
+            ec2.advance(Duration.ofSeconds(Math.max(1, event.getCallbackDelaySeconds())));
+            final ResourceModel model = event.getResourceModel() == null ? request.getDesiredResourceState() : event.getResourceModel();
+            event = handler.handleRequest(proxy, request(model), event.getCallbackContext(), logger());
+        }
+        return event;
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId(FakeEc2Client.OWNER_ID)
+            .region("us-west-2")
+            .desiredResourceState(model)
+            .build();
+    }
+
+    // Each invocation has a logger of its own, which is what marks the start of its time budget
+    private static Logger logger() {
+        return mock(Logger.class);
+    }
+}
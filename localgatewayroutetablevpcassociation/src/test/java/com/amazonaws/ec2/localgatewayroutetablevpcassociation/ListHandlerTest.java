@@ -1,6 +1,8 @@
 package com.amazonaws.ec2.localgatewayroutetablevpcassociation;
 
+import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTableVpcAssociationsRequest;
 import software.amazon.awssdk.services.ec2.model.DescribeLocalGatewayRouteTableVpcAssociationsResponse;
+import software.amazon.awssdk.services.ec2.model.Filter;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
@@ -9,6 +11,7 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -18,6 +21,9 @@ import static com.amazonaws.ec2.localgatewayroutetablevpcassociation.Translator.
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -77,4 +83,123 @@ public class ListHandlerTest extends TestBase {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
+
+    @Test
+    public void handleRequest_SkipsDisassociated() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().build())
+            .build();
+
+        final DescribeLocalGatewayRouteTableVpcAssociationsResponse describeResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
+            .builder()
+            .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION.toBuilder().state("disassociated").build(), TEST_ASSOCIATION)
+            .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+            .thenReturn(describeResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler().handleRequest(proxy, request, null, logger);
+
+        // Read reports a disassociated association as not found, so it is not listed either
+        assertThat(response.getResourceModels()).containsExactly(createModelFromAssociation(TEST_ASSOCIATION));
+    }
+
+    @Test
+    public void handleRequest_ModelFieldsPushedDownAsFilters() {
+        final ResourceModel model = ResourceModel.builder()
+            .localGatewayRouteTableId(ROUTE_TABLE_ID)
+            .vpcId(VPC_ID)
+            .state("associated")
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .nextToken("previousToken")
+            .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+            .thenReturn(DescribeLocalGatewayRouteTableVpcAssociationsResponse.builder()
+                .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION)
+                .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler().handleRequest(proxy, request, null, logger);
+
+        final ArgumentCaptor<DescribeLocalGatewayRouteTableVpcAssociationsRequest> describeRequest =
+            ArgumentCaptor.forClass(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class);
+        verify(proxy).injectCredentialsAndInvokeV2(describeRequest.capture(), any());
+        assertThat(describeRequest.getValue().nextToken()).isEqualTo("previousToken");
+        assertThat(describeRequest.getValue().maxResults()).isEqualTo(ListHandler.DEFAULT_ASSOCIATIONS_PER_PAGE);
+        assertThat(describeRequest.getValue().filters()).containsExactly(
+            Filter.builder().name("local-gateway-route-table-id").values(ROUTE_TABLE_ID).build(),
+            Filter.builder().name("vpc-id").values(VPC_ID).build(),
+            Filter.builder().name("state").values("associated").build());
+        assertThat(response.getResourceModels()).containsExactly(createModelFromAssociation(TEST_ASSOCIATION));
+        assertThat(response.getNextToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_StopsAtPageSize() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().build())
+            .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+            .thenReturn(DescribeLocalGatewayRouteTableVpcAssociationsResponse.builder()
+                .localGatewayRouteTableVpcAssociations(PENDING_ASSOCIATION, TEST_ASSOCIATION)
+                .nextToken("token")
+                .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(2).handleRequest(proxy, request, null, logger);
+
+        final ArgumentCaptor<DescribeLocalGatewayRouteTableVpcAssociationsRequest> describeRequest =
+            ArgumentCaptor.forClass(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class);
+        verify(proxy).injectCredentialsAndInvokeV2(describeRequest.capture(), any());
+        assertThat(describeRequest.getValue().hasFilters()).isFalse();
+        // EC2 does not take fewer than five results a page
+        assertThat(describeRequest.getValue().maxResults()).isEqualTo(ListHandler.MIN_PAGE_SIZE);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).hasSize(2);
+        assertThat(response.getNextToken()).isEqualTo("token");
+    }
+
+    @Test
+    public void handleRequest_ShortPageAsksForRemainder() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().build())
+            .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+            .thenReturn(DescribeLocalGatewayRouteTableVpcAssociationsResponse.builder()
+                .localGatewayRouteTableVpcAssociations(PENDING_ASSOCIATION, TEST_ASSOCIATION)
+                .nextToken("token")
+                .build())
+            .thenReturn(DescribeLocalGatewayRouteTableVpcAssociationsResponse.builder()
+                .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION)
+                .build());
+
+        new ListHandler(10).handleRequest(proxy, request, null, logger);
+
+        final ArgumentCaptor<DescribeLocalGatewayRouteTableVpcAssociationsRequest> describeRequest =
+            ArgumentCaptor.forClass(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class);
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(describeRequest.capture(), any());
+        assertThat(describeRequest.getAllValues().get(0).maxResults()).isEqualTo(10);
+        assertThat(describeRequest.getAllValues().get(1).maxResults()).isEqualTo(8);
+    }
+
+    @Test
+    public void handleRequest_DisassociatedState_ListsNothing() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().state(ReadHandler.DISASSOCIATED_STATE).build())
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler().handleRequest(proxy, request, null, logger);
+
+        verifyZeroInteractions(proxy);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).isEmpty();
+        assertThat(response.getNextToken()).isNull();
+    }
 }
@@ -0,0 +1,84 @@
+package com.amazonaws.ec2.localgatewayroutetablevpcassociation;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ThrottlingAwareRetryConditionTest {
+
+    private static final Instant NOW = Instant.parse("2020-01-01T00:00:00Z");
+
+    private final ThrottlingAwareRetryCondition retryCondition = new ThrottlingAwareRetryCondition(
+        RetryCondition.defaultRetryCondition(), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    public void testShouldRetry_Throttled_RetriesAndCounts() {
+        final RetryPolicyContext context = buildContext("ThrottledOperation", "RequestLimitExceeded", 503, null);
+
+        assertThat(retryCondition.shouldRetry(context)).isTrue();
+        assertThat(RetryCounters.getRetries("ThrottledOperation")).isEqualTo(1);
+        assertThat(RetryCounters.getThrottles("ThrottledOperation")).isEqualTo(1);
+    }
+
+    @Test
+    public void testShouldRetry_ServerError_RetriesWithoutThrottle() {
+        final RetryPolicyContext context = buildContext("FailingOperation", "InternalError", 500, null);
+
+        assertThat(retryCondition.shouldRetry(context)).isTrue();
+        assertThat(RetryCounters.getRetries("FailingOperation")).isEqualTo(1);
+        assertThat(RetryCounters.getThrottles("FailingOperation")).isEqualTo(0);
+    }
+
+    @Test
+    public void testShouldRetry_ClientError_NoRetry() {
+        final RetryPolicyContext context = buildContext("InvalidOperation", "InvalidParameterValue", 400, null);
+
+        assertThat(retryCondition.shouldRetry(context)).isFalse();
+        assertThat(RetryCounters.getRetries("InvalidOperation")).isEqualTo(0);
+    }
+
+    @Test
+    public void testShouldRetry_DeadlineTooClose_NoRetry() {
+        final long deadline = NOW.toEpochMilli() + ThrottlingAwareRetryCondition.MIN_TIME_LEFT_TO_RETRY.toMillis() - 1;
+        final RetryPolicyContext context = buildContext("LateOperation", "RequestLimitExceeded", 503, deadline);
+
+        assertThat(retryCondition.shouldRetry(context)).isFalse();
+        assertThat(RetryCounters.getRetries("LateOperation")).isEqualTo(0);
+        assertThat(RetryCounters.getThrottles("LateOperation")).isEqualTo(1);
+    }
+
+    @Test
+    public void testShouldRetry_DeadlineFarEnough_Retries() {
+        final long deadline = NOW.toEpochMilli() + ThrottlingAwareRetryCondition.MIN_TIME_LEFT_TO_RETRY.toMillis();
+        final RetryPolicyContext context = buildContext("EarlyOperation", "RequestLimitExceeded", 503, deadline);
+
+        assertThat(retryCondition.shouldRetry(context)).isTrue();
+    }
+
+    private static RetryPolicyContext buildContext(String operation, String errorCode, int statusCode, Long deadline) {
+        final ExecutionAttributes executionAttributes = new ExecutionAttributes()
+            .putAttribute(SdkExecutionAttribute.OPERATION_NAME, operation);
+        if (deadline != null) {
+            executionAttributes.putAttribute(AttemptLoggingExecutionInterceptor.INVOCATION_DEADLINE, deadline);
+        }
+        final Ec2Exception exception = (Ec2Exception) Ec2Exception.builder()
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).build())
+            .statusCode(statusCode)
+            .build();
+        return RetryPolicyContext.builder()
+            .exception(exception)
+            .executionAttributes(executionAttributes)
+            .httpStatusCode(statusCode)
+            .build();
+    }
+}
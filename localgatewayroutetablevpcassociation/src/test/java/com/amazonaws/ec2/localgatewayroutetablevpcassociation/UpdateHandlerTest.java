@@ -28,6 +28,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -107,7 +108,7 @@ public class UpdateHandlerTest extends TestBase {
     }
 
     @Test
-    public void handleRequest_TagUpdateNotStarted_InProgress() {
+    public void handleRequest_TagUpdateNotStarted_Success() {
         final DescribeLocalGatewayRouteTableVpcAssociationsResponse describeResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
             .builder()
             .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION_WITH_TAGS)
@@ -132,6 +133,56 @@ public class UpdateHandlerTest extends TestBase {
             .desiredResourceTags(stackTags)
             .build();
 
+        final UpdateHandler handler = new UpdateHandler();
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        final Set<Tag> expectedTagsToCreate = new HashSet<>();
+        expectedTagsToCreate.add(Tag.builder().key("Stage").value("Test").build());
+        expectedTagsToCreate.add(Tag.builder().key("NewKey").value("NewValue").build());
+        final CreateTagsRequest expectedCreateTagsRequest = CreateTagsRequest
+            .builder()
+            .resources(ASSOCIATION_ID)
+            .tags(TagHelper.createSdkTagsFromCfnTags(expectedTagsToCreate))
+            .build();
+
+        // The tags are changed in the invocation that worked out the difference, with no callback in between, and
+        // Stage only changed value, so CreateTags alone changes it
+        verify(proxy).injectCredentialsAndInvokeV2(eq(expectedCreateTagsRequest), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(DeleteTagsRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel()).isEqualTo(model);
+    }
+
+    @Test
+    public void handleRequest_TagUpdateNotStarted_OutOfTime_InProgress() {
+        final DescribeLocalGatewayRouteTableVpcAssociationsResponse describeResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
+            .builder()
+            .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION_WITH_TAGS)
+            .build();
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
+            .thenReturn(describeResponse);
+
+        // Set tags on each of the places tags can be applied: resource-level and stack-level
+        Map<String, String> stackTags = Collections.singletonMap("Stage", "Test");
+        Tag resourceLevelTag1 = Tag.builder().key("Name").value("MyAssociation").build();
+        Tag resourceLevelTag2 = Tag.builder().key("NewKey").value("NewValue").build();
+
+        final ResourceModel model = ResourceModel
+            .builder()
+            .localGatewayRouteTableId(ROUTE_TABLE_ID)
+            .vpcId(VPC_ID)
+            .localGatewayRouteTableVpcAssociationId(ASSOCIATION_ID)
+            .tags(new HashSet<>(Arrays.asList(resourceLevelTag1, resourceLevelTag2)))
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .desiredResourceTags(stackTags)
+            .build();
+
+        AttemptLoggingExecutionInterceptor.setInvocationDeadline(logger, System.currentTimeMillis() + 5_000);
+
         final UpdateHandler handler = new UpdateHandler();
         final ProgressEvent<ResourceModel, CallbackContext> response
             = handler.handleRequest(proxy, request, null, logger);
@@ -140,7 +191,6 @@ public class UpdateHandlerTest extends TestBase {
         expectedTagsToCreate.add(Tag.builder().key("Stage").value("Test").build());
         expectedTagsToCreate.add(Tag.builder().key("NewKey").value("NewValue").build());
         final Set<Tag> expectedTagsToDelete = new HashSet<>();
-        expectedTagsToDelete.add(Tag.builder().key("Stage").value("Prod").build());
 
 
         final CallbackContext expectedContext = CallbackContext
@@ -160,6 +210,52 @@ public class UpdateHandlerTest extends TestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_TagUpdateNotStarted_Throttled_InProgress() {
+        final DescribeLocalGatewayRouteTableVpcAssociationsResponse describeResponse = DescribeLocalGatewayRouteTableVpcAssociationsResponse
+            .builder()
+            .localGatewayRouteTableVpcAssociations(TEST_ASSOCIATION_WITH_TAGS)
+            .build();
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(DescribeLocalGatewayRouteTableVpcAssociationsRequest.class), any()))
+            .thenReturn(describeResponse);
+
+        // Set tags on each of the places tags can be applied: resource-level and stack-level
+        Map<String, String> stackTags = Collections.singletonMap("Stage", "Test");
+        Tag resourceLevelTag1 = Tag.builder().key("Name").value("MyAssociation").build();
+        Tag resourceLevelTag2 = Tag.builder().key("NewKey").value("NewValue").build();
+
+        final ResourceModel model = ResourceModel
+            .builder()
+            .localGatewayRouteTableId(ROUTE_TABLE_ID)
+            .vpcId(VPC_ID)
+            .localGatewayRouteTableVpcAssociationId(ASSOCIATION_ID)
+            .tags(new HashSet<>(Arrays.asList(resourceLevelTag1, resourceLevelTag2)))
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .desiredResourceTags(stackTags)
+            .build();
+
+        final Ec2Exception throttledException = (Ec2Exception) Ec2Exception
+            .builder()
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode("RequestLimitExceeded").build())
+            .build();
+        Mockito.lenient().when(proxy.injectCredentialsAndInvokeV2(any(CreateTagsRequest.class), any()))
+            .thenThrow(throttledException);
+
+        final UpdateHandler handler = new UpdateHandler();
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        // Retried by a later invocation from the tag changes already worked out
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(DeleteTagsRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isUpdateStarted()).isTrue();
+        assertThat(response.getCallbackContext().getThrottledAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackContext().getTagsToCreate()).hasSize(2);
+        assertThat(response.getCallbackContext().getTagsToDelete()).isEmpty();
+    }
+
     @Test
     public void handleRequest_UpdateStarted_Success() {
         final Set<Tag> newTags = new HashSet<>();
@@ -342,4 +438,48 @@ public class UpdateHandlerTest extends TestBase {
         assertThat(response.getMessage()).isNotNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
+
+    @Test
+    public void handleRequest_ThrottledWhileCreatingTags_InProgress() {
+        final Set<Tag> newTags = new HashSet<>();
+        newTags.add(Tag.builder().key("ThisIsNew").value("NewValue").build());
+        final ResourceModel model = ResourceModel
+            .builder()
+            .localGatewayRouteTableId(ROUTE_TABLE_ID)
+            .vpcId(VPC_ID)
+            .localGatewayRouteTableVpcAssociationId(ASSOCIATION_ID)
+            .tags(newTags)
+            .build();
+        final CallbackContext callbackContext = CallbackContext
+            .builder()
+            .updateStarted(true)
+            .tagsToCreate(newTags)
+            .tagsToDelete(Collections.emptySet())
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        final AwsErrorDetails errorDetails = AwsErrorDetails.builder()
+            .errorCode("RequestLimitExceeded")
+            .build();
+        final Ec2Exception throttlingException = (Ec2Exception) Ec2Exception
+            .builder()
+            .awsErrorDetails(errorDetails)
+            .build();
+        when(proxy.injectCredentialsAndInvokeV2(any(CreateTagsRequest.class), any())).thenThrow(throttlingException);
+
+        final UpdateHandler handler = new UpdateHandler();
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, callbackContext, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isUpdateStarted()).isTrue();
+        assertThat(response.getCallbackContext().getTagsToCreate()).isEqualTo(newTags);
+        assertThat(response.getCallbackContext().getThrottledAttempts()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isGreaterThan(0);
+        assertThat(response.getResourceModel()).isEqualTo(model);
+        assertThat(response.getErrorCode()).isNull();
+    }
 }